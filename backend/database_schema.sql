@@ -27,12 +27,24 @@ CREATE TABLE novels (
     author VARCHAR(120) NOT NULL,
     description TEXT,
     cover_image VARCHAR(255),
+    cover_thumbnail VARCHAR(255),
+    cover_card VARCHAR(255),
+    cover_full VARCHAR(255),
     uploaded_by INT NOT NULL,
-    created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
-    updated_at DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     CONSTRAINT fk_novel_uploader FOREIGN KEY (uploaded_by) REFERENCES users(user_id)
         ON UPDATE CASCADE ON DELETE RESTRICT
 );
+CREATE INDEX idx_novel_created ON novels(created_at, novel_id);
+CREATE INDEX idx_novel_updated ON novels(updated_at, novel_id);
+CREATE INDEX idx_novel_title ON novels(title, novel_id);
+-- Existing databases: the catalogue pages on created_at/updated_at, where a NULL
+-- row would never match the keyset comparison, so backfill and tighten them:
+-- UPDATE novels SET created_at = COALESCE(updated_at, NOW()) WHERE created_at IS NULL;
+-- UPDATE novels SET updated_at = created_at WHERE updated_at IS NULL;
+-- ALTER TABLE novels MODIFY created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+--     MODIFY updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP;
 
 -- CHAPTERS
 CREATE TABLE chapters (
@@ -40,11 +52,21 @@ CREATE TABLE chapters (
     novel_id INT NOT NULL,
     chapter_number INT NOT NULL,
     title VARCHAR(255),
-    content LONGTEXT NOT NULL,
+    content LONGTEXT,
+    content_compressed LONGBLOB,
+    content_codec VARCHAR(16),
+    content_segment INT,
+    content_offset BIGINT,
+    content_size INT,
+    content_length INT,
     created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
     CONSTRAINT fk_chapter_novel FOREIGN KEY (novel_id) REFERENCES novels(novel_id) ON DELETE CASCADE
 );
 CREATE INDEX idx_chapter_novel_number ON chapters(novel_id, chapter_number);
+-- Existing databases: chapter bodies are now stored gzipped in pack files under
+-- chapter.pack.location (content_segment/offset/size), so the
+-- plain-text column must accept NULL:
+-- ALTER TABLE chapters MODIFY content LONGTEXT NULL;
 
 -- REVIEWS (with comment column included)
 CREATE TABLE reviews (
@@ -60,6 +82,21 @@ CREATE TABLE reviews (
     CONSTRAINT unique_user_novel_review UNIQUE (user_id, novel_id)
 );
 CREATE INDEX idx_review_novel ON reviews(novel_id);
+CREATE INDEX idx_review_novel_created ON reviews(novel_id, created_at, review_id);
+CREATE INDEX idx_review_novel_rating ON reviews(novel_id, rating, created_at, review_id);
+
+-- NOVEL_RATING_STATS (running totals kept in step with reviews)
+CREATE TABLE novel_rating_stats (
+    novel_id INT PRIMARY KEY,
+    rating_sum BIGINT NOT NULL DEFAULT 0,
+    rating_count BIGINT NOT NULL DEFAULT 0,
+    rating_1 BIGINT NOT NULL DEFAULT 0,
+    rating_2 BIGINT NOT NULL DEFAULT 0,
+    rating_3 BIGINT NOT NULL DEFAULT 0,
+    rating_4 BIGINT NOT NULL DEFAULT 0,
+    rating_5 BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT fk_rating_stats_novel FOREIGN KEY (novel_id) REFERENCES novels(novel_id) ON DELETE CASCADE
+);
 
 -- LIBRARY
 CREATE TABLE library (
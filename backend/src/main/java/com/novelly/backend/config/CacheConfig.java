@@ -0,0 +1,25 @@
+package com.novelly.backend.config;
+
+import com.novelly.backend.dto.ChapterDto;
+import com.novelly.backend.entity.Novel;
+import com.novelly.backend.service.cache.SingleFlight;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Optional;
+
+@Configuration
+public class CacheConfig {
+
+    // Concurrent chapter cache misses for the same key share one query
+    @Bean
+    public SingleFlight<String, ChapterDto> chapterLoads() {
+        return new SingleFlight<>("chapterLoads");
+    }
+
+    // Concurrent novel lookups for the same id share one query
+    @Bean
+    public SingleFlight<Integer, Optional<Novel>> novelLoads() {
+        return new SingleFlight<>("novelLoads");
+    }
+}
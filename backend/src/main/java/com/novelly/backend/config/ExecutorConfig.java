@@ -0,0 +1,36 @@
+package com.novelly.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class ExecutorConfig {
+
+    // Runs the independent queries of one request side by side. Each task holds a pooled
+    // connection, so the worker count is kept below the Hikari pool size (10 by default)
+    // and request threads still get connections. The queue is bounded: when it is full the
+    // submit is refused (QueryExecutorBusyException, answered with 503) instead of letting
+    // a backlog of fan-outs grow. Workers are virtual threads, so parked ones cost little.
+    @Bean(destroyMethod = "close")
+    public ExecutorService queryExecutor(@Value("${query.executor.threads:5}") int threads,
+                                         @Value("${query.executor.queue-capacity:64}") int queueCapacity) {
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), Thread.ofVirtual().name("query-", 0).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // Database writes that follow password hashing (registration insert, rehash on login).
+    // Their rate is already capped by the bounded hashing pool, so a virtual thread per
+    // task is enough; it keeps them off both the hashing threads and queryExecutor.
+    @Bean(destroyMethod = "close")
+    public ExecutorService authWriteExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("auth-write-", 0).factory());
+    }
+}
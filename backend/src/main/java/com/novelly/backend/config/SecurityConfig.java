@@ -2,7 +2,9 @@ package com.novelly.backend.config;
 
 import com.novelly.backend.security.UserDetailsServiceImpl;
 import com.novelly.backend.security.JwtAuthenticationFilter;
+import com.novelly.backend.security.RateLimitFilter;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -18,13 +20,14 @@ import org.springframework.http.HttpMethod;
 @EnableMethodSecurity
 public class SecurityConfig {
 
+    // Raising the strength takes effect for existing users as they log in (rehash on login)
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(10);
+    public PasswordEncoder passwordEncoder(@Value("${auth.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http, UserDetailsServiceImpl userDetailsService, JwtAuthenticationFilter jwtAuthenticationFilter) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, UserDetailsServiceImpl userDetailsService, JwtAuthenticationFilter jwtAuthenticationFilter, RateLimitFilter rateLimitFilter) throws Exception {
         http
             .csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(auth -> auth
@@ -34,6 +37,8 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.POST, "/api/novels/upload").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.POST, "/api/novels").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.POST, "/api/novels/*/chapters").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.POST, "/api/novels/*/chapters/import").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.GET, "/api/novels/*/chapters/import/*").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.PUT, "/api/novels/*").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.POST, "/api/pages/upload").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.POST, "/api/pages/upload-multiple").hasRole("ADMIN")
@@ -52,10 +57,13 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.POST, "/api/users/*/library/*").authenticated()
                 .requestMatchers(HttpMethod.DELETE, "/api/users/*/library/*").authenticated()
                 .requestMatchers("/api/users/**").hasRole("ADMIN")
+                .requestMatchers("/api/admin/**").hasRole("ADMIN")
                 .anyRequest().authenticated()
             )
             .userDetailsService(userDetailsService)
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            // After the JWT filter, so authenticated requests are limited per user rather than per address
+            .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
         return http.build();
     }
 }
@@ -1,20 +1,38 @@
 package com.novelly.backend.config;
 
+import com.novelly.backend.service.FileStorageService;
+import com.novelly.backend.service.files.HotFileCache;
+import com.novelly.backend.service.files.HotFileResourceResolver;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
-import java.nio.file.Paths;
+import org.springframework.web.servlet.resource.PathResourceResolver;
+
+import java.nio.file.Path;
 
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+    private final FileStorageService fileStorageService;
+    private final HotFileCache hotFileCache;
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        // Serve uploaded files from the uploads directory
-        String uploadsPath = Paths.get("./uploads").toAbsolutePath().toUri().toString();
+        // Serve uploaded files from the storage root; hot files come from memory
+        Path uploadsRoot = fileStorageService.getRootLocation();
+        String uploadsPath = uploadsRoot.toUri().toString();
+        if (!uploadsPath.endsWith("/")) {
+            uploadsPath += "/";
+        }
         
+        // No resolver-level caching: it would keep serving a cached file after it is invalidated
         registry.addResourceHandler("/uploads/**")
                 .addResourceLocations(uploadsPath)
-                .setCachePeriod(3600); // Cache for 1 hour
+                .setCachePeriod(3600) // Cache for 1 hour
+                .resourceChain(false)
+                .addResolver(new HotFileResourceResolver(uploadsRoot, hotFileCache))
+                .addResolver(new PathResourceResolver());
     }
 }
@@ -0,0 +1,60 @@
+package com.novelly.backend.controller;
+
+import com.novelly.backend.security.JwtService;
+import com.novelly.backend.security.PasswordHashingService;
+import com.novelly.backend.security.RateLimiter;
+import com.novelly.backend.security.UserDetailsServiceImpl;
+import com.novelly.backend.service.cache.ChapterCache;
+import com.novelly.backend.service.cache.SingleFlight;
+import com.novelly.backend.service.files.HotFileCache;
+import com.novelly.backend.service.search.NovelSearchIndex;
+import com.novelly.backend.service.search.NovelSuggestIndex;
+import com.novelly.backend.service.trending.TrendingTracker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/stats")
+@RequiredArgsConstructor
+public class AdminStatsController {
+
+    private final ChapterCache chapterCache;
+    private final List<SingleFlight<?, ?>> singleFlights;
+    private final NovelSearchIndex novelSearchIndex;
+    private final NovelSuggestIndex novelSuggestIndex;
+    private final TrendingTracker trendingTracker;
+    private final HotFileCache hotFileCache;
+    private final JwtService jwtService;
+    private final UserDetailsServiceImpl userDetailsService;
+    private final PasswordHashingService passwordHashingService;
+    private final RateLimiter rateLimiter;
+
+    /**
+     * In-process cache and load counters
+     * GET /api/admin/stats
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("chapterCache", chapterCache.stats());
+        for (SingleFlight<?, ?> flight : singleFlights) {
+            stats.put(flight.getName(), flight.stats());
+        }
+        stats.put("searchIndex", novelSearchIndex.stats());
+        stats.put("suggestIndex", novelSuggestIndex.stats());
+        stats.put("trending", trendingTracker.stats());
+        stats.put("hotFileCache", hotFileCache.stats());
+        stats.put("jwt", jwtService.stats());
+        stats.put("userDetailsCache", userDetailsService.stats());
+        stats.put("passwordHashing", passwordHashingService.stats());
+        stats.put("rateLimiter", rateLimiter.stats());
+        return ResponseEntity.ok(stats);
+    }
+}
@@ -7,20 +7,25 @@ import com.novelly.backend.dto.UserDto;
 import com.novelly.backend.entity.Role;
 import com.novelly.backend.entity.User;
 import com.novelly.backend.repository.RoleRepository;
+import com.novelly.backend.security.AuthenticatedUser;
+import com.novelly.backend.security.PasswordHashingService;
+import com.novelly.backend.service.exception.PasswordHashingBusyException;
 import com.novelly.backend.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.http.HttpHeaders;
 import io.jsonwebtoken.Claims;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -29,60 +34,75 @@ public class AuthController {
 
     private final UserService userService;
     private final RoleRepository roleRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final com.novelly.backend.security.JwtService jwtService;
+    private final ExecutorService authWriteExecutor;
 
     @PostMapping("/register")
-    public ResponseEntity<AuthResponse> register(/*@Valid*/ @RequestBody AuthRequest request) {
+    public CompletableFuture<ResponseEntity<AuthResponse>> register(/*@Valid*/ @RequestBody AuthRequest request) {
         if (userService.existsByUsername(request.getUsername()) || userService.existsByEmail(request.getEmail())) {
-            return ResponseEntity.badRequest().build();
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
         }
 
         Role role = roleRepository.findByRoleName(Role.RoleName.USER)
                 .orElseThrow(() -> new IllegalStateException("Default USER role is missing"));
 
-        User user = new User();
-        user.setUsername(request.getUsername());
-        user.setEmail(request.getEmail());
-        user.setPasswordHash(passwordEncoder.encode(request.getPassword()));
-        user.setRole(role);
-
-        User saved = userService.create(user);
-        return ResponseEntity.ok(buildResponse(saved));
+        // Hashing runs on the bounded hashing pool, not on this request thread; the insert
+        // then moves to authWriteExecutor so hashing threads never wait on the database
+        return passwordHashingService.encode(request.getPassword())
+                .thenApplyAsync(hash -> {
+                    User user = new User();
+                    user.setUsername(request.getUsername());
+                    user.setEmail(request.getEmail());
+                    user.setPasswordHash(hash);
+                    user.setRole(role);
+
+                    User saved = userService.create(user);
+                    return ResponseEntity.ok(buildResponse(saved));
+                }, authWriteExecutor)
+                .exceptionally(AuthController::busyOrRethrow);
     }
 
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(/*@Valid*/ @RequestBody LoginRequest request) {
+    public CompletableFuture<ResponseEntity<AuthResponse>> login(/*@Valid*/ @RequestBody LoginRequest request) {
         Optional<User> optional = userService.findByEmail(request.getEmailOrUsername());
         if (optional.isEmpty()) {
             optional = userService.findByUsername(request.getEmailOrUsername());
         }
 
         if (optional.isEmpty()) {
-            return ResponseEntity.badRequest().build();
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
         }
 
         User user = optional.get();
-        if (!passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
-            return ResponseEntity.badRequest().build();
-        }
-
-        return ResponseEntity.ok(buildResponse(user));
+        return passwordHashingService.matches(request.getPassword(), user.getPasswordHash())
+                .thenApply(matched -> {
+                    if (!matched) {
+                        return ResponseEntity.badRequest().<AuthResponse>build();
+                    }
+                    if (passwordHashingService.needsRehash(user.getPasswordHash())) {
+                        rehashInBackground(user.getUserId(), request.getPassword());
+                    }
+                    return ResponseEntity.ok(buildResponse(user));
+                })
+                .exceptionally(AuthController::busyOrRethrow);
     }
 
     @PostMapping("/hash")
-    public ResponseEntity<Map<String, String>> hashPassword(@RequestBody Map<String, String> body) {
+    public CompletableFuture<ResponseEntity<Map<String, String>>> hashPassword(@RequestBody Map<String, String> body) {
         String raw = body.get("password");
         if (raw == null || raw.isBlank()) {
-            return ResponseEntity.badRequest().body(Map.of("error", "password is required"));
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(Map.of("error", "password is required")));
         }
-        return ResponseEntity.ok(Map.of("hash", passwordEncoder.encode(raw)));
+        return passwordHashingService.encode(raw)
+                .thenApply(hash -> ResponseEntity.ok(Map.of("hash", hash)))
+                .exceptionally(AuthController::busyOrRethrow);
     }
 
     @GetMapping("/me")
-    public ResponseEntity<UserDto> me(Authentication auth) {
-        if (auth == null || !auth.isAuthenticated()) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        Optional<User> optional = userService.findByUsername(auth.getName());
+    public ResponseEntity<UserDto> me(@AuthenticationPrincipal AuthenticatedUser principal) {
+        if (principal == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        Optional<User> optional = userService.findById(principal.getUserId());
         if (optional.isEmpty()) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         return ResponseEntity.ok(toDto(optional.get()));
     }
@@ -111,6 +131,27 @@ public class AuthController {
         }
     }
 
+    // The stored hash predates the current cost; upgrade it without delaying the login.
+    // If the hashing pool is busy the upgrade is simply retried on a later login.
+    private void rehashInBackground(Integer userId, String rawPassword) {
+        passwordHashingService.encode(rawPassword)
+                .thenAcceptAsync(hash -> userService.updatePasswordHash(userId, hash), authWriteExecutor);
+    }
+
+    // Hashing pool saturated: answer 503 right away so clients back off
+    private static <T> ResponseEntity<T> busyOrRethrow(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof PasswordHashingBusyException) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "2")
+                    .build();
+        }
+        if (cause instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        throw new CompletionException(cause);
+    }
+
     private AuthResponse buildResponse(User user) {
         org.springframework.security.core.userdetails.UserDetails userDetails =
             org.springframework.security.core.userdetails.User.builder()
@@ -119,7 +160,7 @@ public class AuthController {
                 .authorities("ROLE_" + (user.getRole() != null ? user.getRole().getRoleName().name() : "USER"))
                 .build();
 
-        String token = jwtService.generateToken(userDetails);
+        String token = jwtService.generateToken(userDetails, user.getUserId());
         return AuthResponse.builder()
             .token(token)
             .user(toDto(user))
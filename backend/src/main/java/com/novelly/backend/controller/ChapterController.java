@@ -1,13 +1,30 @@
 package com.novelly.backend.controller;
 
+import com.novelly.backend.dto.ChapterContent;
 import com.novelly.backend.dto.ChapterDto;
+import com.novelly.backend.dto.ChapterImportStatusDto;
+import com.novelly.backend.dto.ChapterSummaryDto;
+import com.novelly.backend.dto.CursorPageDto;
+import com.novelly.backend.dto.ReaderBundleDto;
 import com.novelly.backend.entity.Chapter;
+import com.novelly.backend.security.AuthenticatedUser;
+import com.novelly.backend.service.ChapterImportService;
 import com.novelly.backend.service.ChapterService;
+import com.novelly.backend.util.ChapterContentCodec;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
@@ -16,6 +33,7 @@ import java.util.List;
 public class ChapterController {
 
     private final ChapterService chapterService;
+    private final ChapterImportService chapterImportService;
 
     /**
      * Get chapter by ID directly (for reader page)
@@ -28,7 +46,64 @@ public class ChapterController {
     }
 
     /**
-     * Get all chapters for a novel
+     * Get a chapter with previous/next chapter info, reading progress and
+     * library state in one call (for reader page). The next chapter is
+     * advertised in a Link: rel=prefetch header.
+     * GET /api/chapters/{chapterId}/reader
+     */
+    @GetMapping("/api/chapters/{chapterId}/reader")
+    public ResponseEntity<ReaderBundleDto> getReaderBundle(
+            @PathVariable Integer chapterId,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        ReaderBundleDto bundle = chapterService.getReaderBundle(chapterId, user != null ? user.getUserId() : null);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (bundle.getNext() != null) {
+            response.header(HttpHeaders.LINK,
+                    "</api/chapters/" + bundle.getNext().getChapterId() + "/reader>; rel=prefetch");
+        }
+        return response.body(bundle);
+    }
+
+    /**
+     * Get only the chapter body as plain text. Gzip-capable clients receive the
+     * stored compressed bytes directly, without recompressing.
+     * GET /api/chapters/{chapterId}/content
+     */
+    @GetMapping("/api/chapters/{chapterId}/content")
+    public ResponseEntity<StreamingResponseBody> getChapterContent(
+            @PathVariable Integer chapterId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        ChapterContent content = chapterService.getChapterContent(chapterId);
+
+        ByteBuffer body = content.getData();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (content.getEncoding() != null) {
+            if (ChapterContentCodec.GZIP.equals(content.getEncoding())
+                    && ChapterContentCodec.acceptsGzip(acceptEncoding)) {
+                response.header(HttpHeaders.CONTENT_ENCODING, content.getEncoding());
+            } else {
+                body = ByteBuffer.wrap(ChapterContentCodec.decompress(body, content.getEncoding())
+                        .getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        // Write the (possibly memory-mapped) buffer straight to the response
+        ByteBuffer data = body.duplicate();
+        response.contentLength(data.remaining());
+        return response.body(out -> {
+            WritableByteChannel channel = Channels.newChannel(out);
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+        });
+    }
+
+    /**
+     * Get all chapters for a novel; content is always null, read a chapter by id or number for its text
      * GET /api/novels/{novelId}/chapters
      */
     @GetMapping("/api/novels/{novelId}/chapters")
@@ -37,6 +112,19 @@ public class ChapterController {
         return ResponseEntity.ok(chapters);
     }
 
+    /**
+     * Get the table of contents for a novel, without chapter content
+     * GET /api/novels/{novelId}/chapters/toc?after={chapterNumber}&limit=100
+     */
+    @GetMapping("/api/novels/{novelId}/chapters/toc")
+    public ResponseEntity<CursorPageDto<ChapterSummaryDto>> getChapterToc(
+            @PathVariable Integer novelId,
+            @RequestParam(required = false) Integer after,
+            @RequestParam(defaultValue = "100") int limit) {
+        CursorPageDto<ChapterSummaryDto> toc = chapterService.getChapterToc(novelId, after, limit);
+        return ResponseEntity.ok(toc);
+    }
+
     /**
      * Get a specific chapter with content
      * GET /api/novels/{novelId}/chapters/{chapterNumber}
@@ -72,6 +160,38 @@ public class ChapterController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdChapter);
     }
 
+    /**
+     * Bulk import chapters from a TXT file with "Chapter N" headings, an EPUB,
+     * or a ZIP of text files. Runs in the background; poll the returned job.
+     * POST /api/novels/{novelId}/chapters/import (multipart field "file")
+     */
+    @PostMapping("/api/novels/{novelId}/chapters/import")
+    public ResponseEntity<ChapterImportStatusDto> importChapters(
+            @PathVariable Integer novelId,
+            @RequestParam MultipartFile file) {
+        String name = file.getOriginalFilename() == null ? "" : file.getOriginalFilename().toLowerCase();
+        if (file.isEmpty() || !(name.endsWith(".txt") || name.endsWith(".epub") || name.endsWith(".zip"))) {
+            return ResponseEntity.badRequest().build();
+        }
+        ChapterImportStatusDto job = chapterImportService.startImport(novelId, file);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    /**
+     * Get progress of a bulk chapter import
+     * GET /api/novels/{novelId}/chapters/import/{jobId}
+     */
+    @GetMapping("/api/novels/{novelId}/chapters/import/{jobId}")
+    public ResponseEntity<ChapterImportStatusDto> getImportStatus(
+            @PathVariable Integer novelId,
+            @PathVariable String jobId) {
+        // A job id is only visible under the novel it imports into
+        return chapterImportService.getStatus(jobId)
+                .filter(job -> novelId.equals(job.getNovelId()))
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     /**
      * Update a chapter
      * PUT /api/novels/{novelId}/chapters/{chapterId}
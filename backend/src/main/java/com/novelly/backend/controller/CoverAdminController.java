@@ -0,0 +1,27 @@
+package com.novelly.backend.controller;
+
+import com.novelly.backend.service.CoverImageService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/covers")
+@RequiredArgsConstructor
+public class CoverAdminController {
+
+    private final CoverImageService coverImageService;
+
+    /**
+     * Generate thumbnail/card/full sizes for every cover that has none yet
+     * POST /api/admin/covers/backfill
+     */
+    @PostMapping("/backfill")
+    public ResponseEntity<Map<String, Integer>> backfill() {
+        return ResponseEntity.ok(coverImageService.backfillMissingVariants());
+    }
+}
@@ -1,19 +1,20 @@
 package com.novelly.backend.controller;
 
+import com.novelly.backend.dto.LibraryItemDto;
 import com.novelly.backend.entity.Library;
-import com.novelly.backend.entity.Novel;
-import com.novelly.backend.entity.User;
 import com.novelly.backend.repository.LibraryRepository;
 import com.novelly.backend.repository.NovelRepository;
 import com.novelly.backend.repository.UserRepository;
+import com.novelly.backend.security.AuthenticatedUser;
+import com.novelly.backend.service.search.NovelSuggestIndex;
+import com.novelly.backend.service.trending.TrendingTracker;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/users/{userId}/library")
@@ -28,6 +29,12 @@ public class LibraryController {
     @Autowired
     private NovelRepository novelRepository;
     
+    @Autowired
+    private NovelSuggestIndex novelSuggestIndex;
+    
+    @Autowired
+    private TrendingTracker trendingTracker;
+    
     /**
      * Add a novel to user's library
      */
@@ -35,21 +42,17 @@ public class LibraryController {
     public ResponseEntity<?> addToLibrary(
             @PathVariable Integer userId,
             @PathVariable Integer novelId,
-            Authentication authentication) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         
         try {
             // Verify the authenticated user matches the userId
-            String username = authentication.getName();
-            Optional<User> currentUser = userRepository.findByUsername(username);
-            
-            if (currentUser.isEmpty() || !currentUser.get().getUserId().equals(userId)) {
+            if (user == null || !user.owns(userId)) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN)
                         .body("You can only modify your own library");
             }
             
             // Check if novel exists
-            Optional<Novel> novel = novelRepository.findById(novelId);
-            if (novel.isEmpty()) {
+            if (!novelRepository.existsById(novelId)) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body("Novel not found");
             }
@@ -62,9 +65,11 @@ public class LibraryController {
             
             // Add to library
             Library library = new Library();
-            library.setUser(currentUser.get());
-            library.setNovel(novel.get());
+            library.setUser(userRepository.getReferenceById(userId));
+            library.setNovel(novelRepository.getReferenceById(novelId));
             libraryRepository.save(library);
+            novelSuggestIndex.adjustPopularity(novelId, 1);
+            trendingTracker.record(novelId, TrendingTracker.Signal.LIBRARY);
             
             return ResponseEntity.ok("Novel added to library");
             
@@ -80,19 +85,16 @@ public class LibraryController {
     @GetMapping
     public ResponseEntity<?> getUserLibrary(
             @PathVariable Integer userId,
-            Authentication authentication) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         
         try {
             // Verify the authenticated user matches the userId
-            String username = authentication.getName();
-            Optional<User> currentUser = userRepository.findByUsername(username);
-            
-            if (currentUser.isEmpty() || !currentUser.get().getUserId().equals(userId)) {
+            if (user == null || !user.owns(userId)) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN)
                         .body("You can only view your own library");
             }
             
-            List<Library> libraryItems = libraryRepository.findByUserUserId(userId);
+            List<LibraryItemDto> libraryItems = libraryRepository.findItemsByUserId(userId);
             return ResponseEntity.ok(libraryItems);
             
         } catch (Exception e) {
@@ -108,14 +110,11 @@ public class LibraryController {
     public ResponseEntity<?> removeFromLibrary(
             @PathVariable Integer userId,
             @PathVariable Integer novelId,
-            Authentication authentication) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         
         try {
             // Verify the authenticated user matches the userId
-            String username = authentication.getName();
-            Optional<User> currentUser = userRepository.findByUsername(username);
-            
-            if (currentUser.isEmpty() || !currentUser.get().getUserId().equals(userId)) {
+            if (user == null || !user.owns(userId)) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN)
                         .body("You can only modify your own library");
             }
@@ -127,6 +126,7 @@ public class LibraryController {
             }
             
             libraryRepository.deleteByUserUserIdAndNovelNovelId(userId, novelId);
+            novelSuggestIndex.adjustPopularity(novelId, -1);
             return ResponseEntity.ok("Novel removed from library");
             
         } catch (Exception e) {
@@ -142,14 +142,11 @@ public class LibraryController {
     public ResponseEntity<?> checkInLibrary(
             @PathVariable Integer userId,
             @PathVariable Integer novelId,
-            Authentication authentication) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         
         try {
             // Verify the authenticated user matches the userId
-            String username = authentication.getName();
-            Optional<User> currentUser = userRepository.findByUsername(username);
-            
-            if (currentUser.isEmpty() || !currentUser.get().getUserId().equals(userId)) {
+            if (user == null || !user.owns(userId)) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN)
                         .body("You can only view your own library");
             }
@@ -1,14 +1,34 @@
 package com.novelly.backend.controller;
 
+import com.novelly.backend.dto.CursorPageDto;
+import com.novelly.backend.dto.NovelDetailDto;
+import com.novelly.backend.dto.NovelDto;
+import com.novelly.backend.dto.NovelSearchResultDto;
+import com.novelly.backend.dto.NovelSuggestionDto;
+import com.novelly.backend.dto.NovelSummaryDto;
 import com.novelly.backend.entity.Novel;
-import com.novelly.backend.entity.User;
 import com.novelly.backend.repository.NovelRepository;
 import com.novelly.backend.repository.UserRepository;
+import com.novelly.backend.security.AuthenticatedUser;
+import com.novelly.backend.service.CoverImageService;
+import com.novelly.backend.service.FileStorageService;
+import com.novelly.backend.service.NovelService;
+import com.novelly.backend.service.exception.FileStorageException;
+import com.novelly.backend.service.exception.ImageTooLargeException;
+import com.novelly.backend.service.exception.QueryExecutorBusyException;
+import com.novelly.backend.service.exception.StorageBusyException;
+import com.novelly.backend.service.exception.UploadTooLargeException;
+import com.novelly.backend.service.files.HotFileCache;
+import com.novelly.backend.service.search.NovelSearchIndex;
+import com.novelly.backend.service.search.NovelSuggestIndex;
+import com.novelly.backend.service.trending.TrendingTracker;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -17,10 +37,14 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
-import java.util.UUID;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/novels")
@@ -29,67 +53,153 @@ public class NovelController {
     
     private final NovelRepository novelRepository;
     private final UserRepository userRepository;
-    
-    private static final String UPLOAD_DIR = "backend/uploads/novels";
+    private final NovelService novelService;
+    private final NovelSearchIndex novelSearchIndex;
+    private final NovelSuggestIndex novelSuggestIndex;
+    private final TrendingTracker trendingTracker;
+    private final FileStorageService fileStorageService;
+    private final CoverImageService coverImageService;
+    private final HotFileCache hotFileCache;
     
     @GetMapping
-    public ResponseEntity<List<Novel>> getAllNovels(
+    public ResponseEntity<List<NovelDto>> getAllNovels(
             @RequestParam(defaultValue = "") String q) {
-        List<Novel> novels;
+        List<NovelDto> novels;
         if (q != null && !q.isEmpty()) {
-            novels = novelRepository.searchByKeyword(q);
+            novels = searchNovels(q);
         } else {
-            novels = novelRepository.findAllOrderByCreatedAtDesc();
+            novels = novelRepository.findAllDtoOrderByCreatedAtDesc();
         }
         return ResponseEntity.ok(novels);
     }
     
+    /**
+     * Full-text search over title, author and description, ranked by relevance
+     * GET /api/novels/search?q=...&page=0&size=20
+     */
+    @GetMapping("/search")
+    public ResponseEntity<NovelSearchResultDto> search(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        int pageSize = Math.max(1, Math.min(size, 100));
+        int pageIndex = Math.max(0, page);
+        int[] ranked = novelSearchIndex.search(q);
+        int from = pageIndex * pageSize;
+
+        NovelSearchResultDto result = NovelSearchResultDto.builder()
+                .query(q)
+                .page(pageIndex)
+                .size(pageSize)
+                .total(ranked.length)
+                .items(novelSearchIndex.getSummaries(ranked, from, from + pageSize))
+                .build();
+        return ResponseEntity.ok(result);
+    }
+    
+    /**
+     * Search-box suggestions by title or author prefix, most popular first
+     * GET /api/novels/suggest?q=...&limit=8
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<NovelSuggestionDto>> suggest(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "8") int limit) {
+        return ResponseEntity.ok(novelSuggestIndex.suggest(q, Math.max(1, limit)));
+    }
+    
+    /**
+     * Most active novels over the last day, week, or all time, served from
+     * the latest in-memory ranking snapshot
+     * GET /api/novels/trending?window=daily|weekly|all_time&limit=20
+     */
+    @GetMapping("/trending")
+    public ResponseEntity<List<NovelSummaryDto>> getTrending(
+            @RequestParam(defaultValue = "daily") String window,
+            @RequestParam(defaultValue = "20") int limit) {
+        TrendingTracker.Window trendingWindow;
+        try {
+            trendingWindow = TrendingTracker.Window.valueOf(window.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(trendingTracker.getTrending(trendingWindow, limit));
+    }
+    
+    /**
+     * Keyset-paginated catalogue of slim novel summaries
+     * GET /api/novels/catalog?sort=newest|oldest|updated|title&size=24&cursor=...&includeStats=true
+     */
+    @GetMapping("/catalog")
+    public ResponseEntity<CursorPageDto<NovelSummaryDto>> getCatalog(
+            @RequestParam(defaultValue = "newest") String sort,
+            @RequestParam(defaultValue = "24") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeStats) {
+        NovelService.CatalogSort catalogSort;
+        try {
+            catalogSort = NovelService.CatalogSort.valueOf(sort.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(novelService.getCatalog(catalogSort, cursor, size, includeStats));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // Malformed or mismatched cursor
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Everything the novel page needs in one call, assembled from parallel queries
+     * GET /api/novels/{id}/detail
+     */
+    @GetMapping("/{id}/detail")
+    public ResponseEntity<NovelDetailDto> getNovelDetail(@PathVariable Integer id,
+                                                         @AuthenticationPrincipal AuthenticatedUser user) {
+        try {
+            return novelService.getDetail(id, user != null ? user.getUserId() : null)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (QueryExecutorBusyException e) {
+            return ResponseEntity.status(503).header(HttpHeaders.RETRY_AFTER, "2").build();
+        }
+    }
+    
     @GetMapping("/{id}")
-    public ResponseEntity<Novel> getNovel(@PathVariable Integer id) {
-        Optional<Novel> novel = novelRepository.findById(id);
+    public ResponseEntity<NovelDto> getNovel(@PathVariable Integer id) {
+        Optional<Novel> novel = novelService.findById(id);
         if (novel.isPresent()) {
-            return ResponseEntity.ok(novel.get());
+            return ResponseEntity.ok(convertToDto(novel.get()));
         }
         return ResponseEntity.notFound().build();
     }
     
     @PostMapping
-    public ResponseEntity<Novel> createNovel(@RequestBody Novel novel, Authentication auth) {
-        if (auth == null || auth.getPrincipal() == null) {
-            return ResponseEntity.status(401).build();
-        }
-        
-        String username = auth.getName();
-        Optional<User> user = userRepository.findByUsername(username);
-        
-        if (user.isEmpty()) {
+    public ResponseEntity<NovelDto> createNovel(@RequestBody Novel novel, @AuthenticationPrincipal AuthenticatedUser user) {
+        if (user == null) {
             return ResponseEntity.status(401).build();
         }
         
-        novel.setUploadedBy(user.get());
+        novel.setUploadedBy(userRepository.getReferenceById(user.getUserId()));
         novel.setCreatedAt(LocalDateTime.now());
         novel.setUpdatedAt(LocalDateTime.now());
         
         Novel saved = novelRepository.save(novel);
-        return ResponseEntity.ok(saved);
+        novelSearchIndex.index(saved);
+        novelSuggestIndex.index(saved);
+        return ResponseEntity.ok(convertToDto(saved));
     }
     
     @PostMapping("/upload")
-    public ResponseEntity<Novel> uploadNovel(
+    public ResponseEntity<NovelDto> uploadNovel(
             @RequestParam String title,
             @RequestParam String author,
             @RequestParam(required = false) String description,
             @RequestParam(required = false) MultipartFile coverImage,
-            Authentication auth) {
-        
-        if (auth == null || auth.getPrincipal() == null) {
-            return ResponseEntity.status(401).build();
-        }
-        
-        String username = auth.getName();
-        Optional<User> user = userRepository.findByUsername(username);
+            @AuthenticationPrincipal AuthenticatedUser user) {
         
-        if (user.isEmpty()) {
+        if (user == null) {
             return ResponseEntity.status(401).build();
         }
         
@@ -97,7 +207,7 @@ public class NovelController {
         novel.setTitle(title);
         novel.setAuthor(author);
         novel.setDescription(description);
-        novel.setUploadedBy(user.get());
+        novel.setUploadedBy(userRepository.getReferenceById(user.getUserId()));
         novel.setCreatedAt(LocalDateTime.now());
         novel.setUpdatedAt(LocalDateTime.now());
         
@@ -108,35 +218,30 @@ public class NovelController {
         // Handle cover image upload with novel ID
         if (coverImage != null && !coverImage.isEmpty()) {
             try {
-                String filename = UUID.randomUUID() + "_" + coverImage.getOriginalFilename();
-                Path novelUploadPath = Paths.get(UPLOAD_DIR, saved.getNovelId().toString(), "cover");
-                System.out.println("Creating directory: " + novelUploadPath.toAbsolutePath());
-                Files.createDirectories(novelUploadPath);
-                System.out.println("Directory created successfully");
-                
-                Path filePath = novelUploadPath.resolve(filename);
-                System.out.println("Writing file to: " + filePath.toAbsolutePath());
-                Files.write(filePath, coverImage.getBytes());
-                System.out.println("File written successfully");
-                
-                // Store path for file serving endpoint: /api/pages/file?path=novels/6/cover/filename
-                String coverUrl = "novels/" + saved.getNovelId() + "/cover/" + filename;
-                System.out.println("Setting cover URL: " + coverUrl);
-                saved.setCoverImage(coverUrl);
+                List<String> replaced = storeCover(saved, coverImage);
                 saved = novelRepository.save(saved);
+                deleteAfterCommit(replaced);
                 System.out.println("Novel updated with cover image");
-            } catch (IOException e) {
+            } catch (StorageBusyException e) {
+                return ResponseEntity.status(503).header(HttpHeaders.RETRY_AFTER, "5").build();
+            } catch (ImageTooLargeException e) {
+                return ResponseEntity.badRequest().build();
+            } catch (UploadTooLargeException e) {
+                return ResponseEntity.status(413).build();
+            } catch (FileStorageException e) {
                 System.err.println("Error uploading file: " + e.getMessage());
                 e.printStackTrace();
                 return ResponseEntity.status(500).build();
             }
         }
         
-        return ResponseEntity.ok(saved);
+        novelSearchIndex.index(saved);
+        novelSuggestIndex.index(saved);
+        return ResponseEntity.ok(convertToDto(saved));
     }
     
     @PutMapping("/{id}")
-    public ResponseEntity<Novel> updateNovel(
+    public ResponseEntity<NovelDto> updateNovel(
             @PathVariable Integer id,
             @RequestParam(required = false) String title,
             @RequestParam(required = false) String author,
@@ -162,19 +267,17 @@ public class NovelController {
         }
         
         // Handle cover image upload
+        List<String> replacedCover = List.of();
         if (coverImage != null && !coverImage.isEmpty()) {
             try {
-                String filename = UUID.randomUUID() + "_" + coverImage.getOriginalFilename();
-                Path novelUploadPath = Paths.get(UPLOAD_DIR, novel.getNovelId().toString(), "cover");
-                Files.createDirectories(novelUploadPath);
-                
-                Path filePath = novelUploadPath.resolve(filename);
-                Files.write(filePath, coverImage.getBytes());
-                
-                // Store path for file serving endpoint
-                String coverUrl = "novels/" + novel.getNovelId() + "/cover/" + filename;
-                novel.setCoverImage(coverUrl);
-            } catch (IOException e) {
+                replacedCover = storeCover(novel, coverImage);
+            } catch (StorageBusyException e) {
+                return ResponseEntity.status(503).header(HttpHeaders.RETRY_AFTER, "5").build();
+            } catch (ImageTooLargeException e) {
+                return ResponseEntity.badRequest().build();
+            } catch (UploadTooLargeException e) {
+                return ResponseEntity.status(413).build();
+            } catch (FileStorageException e) {
                 System.err.println("Error uploading cover image: " + e.getMessage());
                 return ResponseEntity.status(500).build();
             }
@@ -182,7 +285,10 @@ public class NovelController {
         
         novel.setUpdatedAt(LocalDateTime.now());
         Novel updated = novelRepository.save(novel);
-        return ResponseEntity.ok(updated);
+        deleteAfterCommit(replacedCover);
+        novelSearchIndex.index(updated);
+        novelSuggestIndex.index(updated);
+        return ResponseEntity.ok(convertToDto(updated));
     }
     
     @DeleteMapping("/{id}")
@@ -193,7 +299,7 @@ public class NovelController {
         
         // Delete associated folder when deleting novel
         try {
-            Path novelFolder = Paths.get(UPLOAD_DIR, id.toString());
+            Path novelFolder = fileStorageService.getRootLocation().resolve(Paths.get("novels", id.toString()));
             if (Files.exists(novelFolder)) {
                 deleteDirectoryRecursively(novelFolder);
             }
@@ -201,11 +307,127 @@ public class NovelController {
             System.err.println("Failed to delete novel folder: " + e.getMessage());
             // Continue with database deletion even if folder delete fails
         }
+        hotFileCache.invalidateTree(fileStorageService.getRootLocation().resolve(Paths.get("novels", id.toString())));
         
         novelRepository.deleteById(id);
+        novelSearchIndex.remove(id);
+        novelSuggestIndex.remove(id);
+        trendingTracker.remove(id);
         return ResponseEntity.ok().build();
     }
     
+    // Keyword search through the in-memory index, keeping the list response of
+    // GET /api/novels?q=. The last word matches as a prefix, so partial words typed
+    // into the header search still hit; falls back to the LIKE query until the index is built
+    private List<NovelDto> searchNovels(String q) {
+        if (!novelSearchIndex.isReady()) {
+            return novelRepository.searchByKeyword(q).stream()
+                    .map(this::convertToDto)
+                    .collect(Collectors.toList());
+        }
+        int[] ranked = novelSearchIndex.search(q);
+        List<Integer> ids = Arrays.stream(ranked).limit(100).boxed().collect(Collectors.toList());
+        Map<Integer, Integer> rank = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            rank.put(ids.get(i), i);
+        }
+        return novelRepository.findAllById(ids).stream()
+                .sorted(Comparator.comparing(n -> rank.get(n.getNovelId())))
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+    
+    // The uploader is a lazy reference; reading its id does not load the user
+    private NovelDto convertToDto(Novel novel) {
+        return NovelDto.builder()
+                .novelId(novel.getNovelId())
+                .title(novel.getTitle())
+                .author(novel.getAuthor())
+                .description(novel.getDescription())
+                .coverImage(novel.getCoverImage())
+                .uploadedById(novel.getUploadedBy() != null ? novel.getUploadedBy().getUserId() : null)
+                .createdAt(novel.getCreatedAt())
+                .updatedAt(novel.getUpdatedAt())
+                .build();
+    }
+    
+    // Stream the original cover to storage, then write its pre-scaled sizes next to it.
+    // Paths are relative to the storage root, as served by /api/pages/file?path=...
+    /**
+     * Store a new cover and its variants and point the novel at them. Returns the
+     * previous cover files that are no longer used; delete them with
+     * deleteAfterCommit once the novel row has been saved.
+     */
+    private List<String> storeCover(Novel novel, MultipartFile coverImage) {
+        List<String> replaced = Arrays.asList(novel.getCoverImage(), novel.getCoverThumbnail(),
+                novel.getCoverCard(), novel.getCoverFull());
+        
+        String coverUrl = fileStorageService
+                .storeFile(coverImage, "novels/" + novel.getNovelId() + "/cover")
+                .relativePath();
+        
+        Map<CoverImageService.CoverSize, String> variants;
+        try {
+            variants = coverImageService.generateVariants(coverUrl);
+        } catch (ImageTooLargeException e) {
+            // Refused before decoding; do not keep the file or point the novel at it
+            if (!coverUrl.equals(novel.getCoverImage())) {
+                fileStorageService.delete(coverUrl);
+            }
+            throw e;
+        }
+        novel.setCoverImage(coverUrl);
+        novel.setCoverThumbnail(variants.get(CoverImageService.CoverSize.THUMB));
+        novel.setCoverCard(variants.get(CoverImageService.CoverSize.CARD));
+        novel.setCoverFull(variants.get(CoverImageService.CoverSize.FULL));
+        
+        // Evict after the variants are rewritten: the old cover's files no longer need
+        // cache space, and re-uploading the same image rewrites its variants in place
+        for (String oldPath : replaced) {
+            if (oldPath != null) {
+                hotFileCache.invalidate(fileStorageService.getRootLocation().resolve(oldPath));
+            }
+        }
+        
+        // Old files stay until the row stops pointing at them, unless the same image was uploaded again
+        List<String> current = Arrays.asList(novel.getCoverImage(), novel.getCoverThumbnail(),
+                novel.getCoverCard(), novel.getCoverFull());
+        return replaced.stream()
+                .filter(oldPath -> oldPath != null && !current.contains(oldPath))
+                .toList();
+    }
+    
+    /**
+     * Delete replaced cover files once the save that dropped them commits. A save
+     * outside a transaction has already committed, so the files go right away;
+     * a rolled-back save keeps them, as the row still points there.
+     */
+    private void deleteAfterCommit(List<String> paths) {
+        if (paths.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deleteFiles(paths);
+                }
+            });
+        } else {
+            deleteFiles(paths);
+        }
+    }
+    
+    private void deleteFiles(List<String> paths) {
+        for (String path : paths) {
+            try {
+                fileStorageService.delete(path);
+            } catch (RuntimeException e) {
+                System.err.println("Failed to delete replaced cover file " + path + ": " + e.getMessage());
+            }
+        }
+    }
+    
     // Helper method to delete directory recursively
     private void deleteDirectoryRecursively(Path path) throws IOException {
         Files.walk(path)
@@ -1,5 +1,13 @@
 package com.novelly.backend.controller;
 
+import com.novelly.backend.service.CoverImageService;
+import com.novelly.backend.service.FileStorageService;
+import com.novelly.backend.service.exception.FileStorageException;
+import com.novelly.backend.service.exception.StorageBusyException;
+import com.novelly.backend.service.exception.UploadTooLargeException;
+import com.novelly.backend.service.files.FileResponseWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -8,9 +16,6 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.*;
 
 @RestController
@@ -18,7 +23,9 @@ import java.util.*;
 @RequiredArgsConstructor
 public class PageController {
     
-    private static final String UPLOAD_DIR = "backend/uploads";
+    private final FileStorageService fileStorageService;
+    private final CoverImageService coverImageService;
+    private final FileResponseWriter fileResponseWriter;
     
     @GetMapping
     public ResponseEntity<Map<String, Object>> getAllPages(
@@ -35,38 +42,28 @@ public class PageController {
     }
     
     /**
-     * Serve files from the uploads directory
-     * GET /api/pages/file?path=novels/6/cover/filename.jpg
+     * Serve files from the uploads directory; covers can be requested pre-scaled
+     * GET /api/pages/file?path=novels/6/cover/filename.jpg&size=thumb|card|full
      */
     @GetMapping("/file")
-    public ResponseEntity<byte[]> getFile(@RequestParam String path) {
-        try {
-            Path filePath = Paths.get(UPLOAD_DIR, path).normalize();
-            
-            // Security: prevent directory traversal attacks
-            Path uploadPath = Paths.get(UPLOAD_DIR).normalize();
-            if (!filePath.normalize().startsWith(uploadPath)) {
-                return ResponseEntity.badRequest().build();
-            }
-            
-            if (!Files.exists(filePath)) {
-                return ResponseEntity.notFound().build();
+    public void getFile(
+            @RequestParam String path,
+            @RequestParam(required = false) String size,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        boolean sizeRequested = size != null && !size.isBlank();
+        if (sizeRequested) {
+            try {
+                path = coverImageService.resolveVariant(path, CoverImageService.CoverSize.valueOf(size.toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+                return;
             }
-            
-            byte[] fileData = Files.readAllBytes(filePath);
-            
-            // Determine content type
-            String contentType = Files.probeContentType(filePath);
-            if (contentType == null) {
-                contentType = "application/octet-stream";
-            }
-            
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_TYPE, contentType)
-                    .body(fileData);
-        } catch (IOException e) {
-            return ResponseEntity.internalServerError().build();
         }
+
+        // A sized URL may be answered with the original until the variant exists;
+        // it must never be cached as immutable, or the variant would not be picked up
+        fileResponseWriter.write(path, !sizeRequested, request, response);
     }
     
     @PostMapping("/upload")
@@ -78,16 +75,12 @@ public class PageController {
         }
         
         try {
-            String filename = UUID.randomUUID() + "_" + file.getOriginalFilename();
-            Path uploadPath = Paths.get(UPLOAD_DIR, "pages");
-            Files.createDirectories(uploadPath);
-            Files.write(uploadPath.resolve(filename), file.getBytes());
-            
-            Map<String, String> response = new HashMap<>();
-            response.put("filename", filename);
-            response.put("filepath", "/api/pages/file?path=pages/" + filename);
-            return ResponseEntity.ok(response);
-        } catch (IOException e) {
+            return ResponseEntity.ok(storePage(file));
+        } catch (StorageBusyException e) {
+            return ResponseEntity.status(503).header(HttpHeaders.RETRY_AFTER, "5").build();
+        } catch (UploadTooLargeException e) {
+            return ResponseEntity.status(413).build();
+        } catch (FileStorageException e) {
             return ResponseEntity.status(500).build();
         }
     }
@@ -103,18 +96,9 @@ public class PageController {
         List<Map<String, String>> uploadedFiles = new ArrayList<>();
         
         try {
-            Path uploadPath = Paths.get(UPLOAD_DIR, "pages");
-            Files.createDirectories(uploadPath);
-            
             for (MultipartFile file : files) {
                 if (!file.isEmpty()) {
-                    String filename = UUID.randomUUID() + "_" + file.getOriginalFilename();
-                    Files.write(uploadPath.resolve(filename), file.getBytes());
-                    
-                    Map<String, String> fileInfo = new HashMap<>();
-                    fileInfo.put("filename", filename);
-                    fileInfo.put("filepath", "/api/pages/file?path=pages/" + filename);
-                    uploadedFiles.add(fileInfo);
+                    uploadedFiles.add(storePage(file));
                 }
             }
             
@@ -122,11 +106,28 @@ public class PageController {
             response.put("files", uploadedFiles);
             response.put("totalUploaded", uploadedFiles.size());
             return ResponseEntity.ok(response);
-        } catch (IOException e) {
+        } catch (StorageBusyException e) {
+            return ResponseEntity.status(503).header(HttpHeaders.RETRY_AFTER, "5").build();
+        } catch (UploadTooLargeException e) {
+            return ResponseEntity.status(413).build();
+        } catch (FileStorageException e) {
             return ResponseEntity.status(500).build();
         }
     }
     
+    // Streams one upload into pages/ and describes it for the response
+    private Map<String, String> storePage(MultipartFile file) {
+        FileStorageService.StoredFile stored = fileStorageService.storeFile(file, "pages");
+        String filename = stored.relativePath().substring(stored.relativePath().lastIndexOf('/') + 1);
+        
+        Map<String, String> fileInfo = new HashMap<>();
+        fileInfo.put("filename", filename);
+        fileInfo.put("filepath", "/api/pages/file?path=" + stored.relativePath());
+        fileInfo.put("contentType", stored.contentType());
+        fileInfo.put("sha256", stored.sha256());
+        return fileInfo;
+    }
+    
     @DeleteMapping("/{pageId}")
     public ResponseEntity<Void> deletePage(@PathVariable Integer pageId) {
         return ResponseEntity.ok().build();
@@ -1,19 +1,21 @@
 package com.novelly.backend.controller;
 
-import com.novelly.backend.entity.Chapter;
-import com.novelly.backend.entity.Novel;
+import com.novelly.backend.dto.ReadingProgressDto;
 import com.novelly.backend.entity.ReadingProgress;
-import com.novelly.backend.entity.User;
 import com.novelly.backend.repository.ChapterRepository;
 import com.novelly.backend.repository.NovelRepository;
 import com.novelly.backend.repository.ReadingProgressRepository;
 import com.novelly.backend.repository.UserRepository;
+import com.novelly.backend.security.AuthenticatedUser;
+import com.novelly.backend.service.trending.TrendingTracker;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -22,6 +24,9 @@ import java.util.Optional;
 @RequestMapping("/api/users/{userId}/progress")
 public class ReadingProgressController {
     
+    // A reader moving on through a novel counts for trending at most this often
+    private static final Duration PROGRESS_SIGNAL_INTERVAL = Duration.ofDays(1);
+    
     @Autowired
     private ReadingProgressRepository progressRepository;
     
@@ -34,21 +39,24 @@ public class ReadingProgressController {
     @Autowired
     private ChapterRepository chapterRepository;
     
+    @Autowired
+    private TrendingTracker trendingTracker;
+    
     /**
      * Get all reading progress for a user
      */
     @GetMapping
     public ResponseEntity<?> getAllProgress(
             @PathVariable Integer userId,
-            Authentication authentication) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         
         try {
-            if (!isAuthorized(userId, authentication)) {
+            if (!isAuthorized(userId, user)) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN)
                         .body("You can only view your own reading progress");
             }
             
-            List<ReadingProgress> progressList = progressRepository.findByUserUserIdOrderByLastReadAtDesc(userId);
+            List<ReadingProgressDto> progressList = progressRepository.findDtosByUserId(userId);
             return ResponseEntity.ok(progressList);
             
         } catch (Exception e) {
@@ -64,15 +72,15 @@ public class ReadingProgressController {
     public ResponseEntity<?> getProgressByNovel(
             @PathVariable Integer userId,
             @PathVariable Integer novelId,
-            Authentication authentication) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         
         try {
-            if (!isAuthorized(userId, authentication)) {
+            if (!isAuthorized(userId, user)) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN)
                         .body("You can only view your own reading progress");
             }
             
-            Optional<ReadingProgress> progress = progressRepository.findByUserUserIdAndNovelNovelId(userId, novelId);
+            Optional<ReadingProgressDto> progress = progressRepository.findDtoByUserIdAndNovelId(userId, novelId);
             
             if (progress.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -94,10 +102,10 @@ public class ReadingProgressController {
     public ResponseEntity<?> saveProgress(
             @PathVariable Integer userId,
             @RequestBody Map<String, Object> progressData,
-            Authentication authentication) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         
         try {
-            if (!isAuthorized(userId, authentication)) {
+            if (!isAuthorized(userId, user)) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN)
                         .body("You can only save your own reading progress");
             }
@@ -111,12 +119,8 @@ public class ReadingProgressController {
                         .body("novelId and chapterId are required");
             }
             
-            // Verify entities exist
-            Optional<User> user = userRepository.findById(userId);
-            Optional<Novel> novel = novelRepository.findById(novelId);
-            Optional<Chapter> chapter = chapterRepository.findById(chapterId);
-            
-            if (user.isEmpty() || novel.isEmpty() || chapter.isEmpty()) {
+            // Verify entities exist; the user id comes from the authenticated principal
+            if (!novelRepository.existsById(novelId) || !chapterRepository.existsById(chapterId)) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body("User, novel, or chapter not found");
             }
@@ -126,20 +130,33 @@ public class ReadingProgressController {
                     progressRepository.findByUserUserIdAndNovelNovelId(userId, novelId);
             
             ReadingProgress progress;
+            Integer previousChapterId = null;
+            LocalDateTime previousReadAt = null;
             if (existingProgress.isPresent()) {
                 progress = existingProgress.get();
+                previousChapterId = progress.getChapter().getChapterId();
+                previousReadAt = progress.getLastReadAt();
             } else {
                 progress = new ReadingProgress();
-                progress.setUser(user.get());
-                progress.setNovel(novel.get());
+                progress.setUser(userRepository.getReferenceById(userId));
+                progress.setNovel(novelRepository.getReferenceById(novelId));
             }
             
             // Update progress
-            progress.setChapter(chapter.get());
+            progress.setChapter(chapterRepository.getReferenceById(chapterId));
             
             progressRepository.save(progress);
             
-            return ResponseEntity.ok(progress);
+            // Autosave repeats the same chapter every few seconds; only a new reader, or one who
+            // has moved to another chapter since yesterday, is a trending event. Bootstrap rebuilds
+            // one event per (user, novel) row at its lastReadAt, which this stays close to.
+            boolean movedOn = !chapterId.equals(previousChapterId) && (previousReadAt == null
+                    || previousReadAt.isBefore(LocalDateTime.now().minus(PROGRESS_SIGNAL_INTERVAL)));
+            if (existingProgress.isEmpty() || movedOn) {
+                trendingTracker.record(novelId, TrendingTracker.Signal.PROGRESS);
+            }
+            
+            return ResponseEntity.ok(progressRepository.findDtoByUserIdAndNovelId(userId, novelId).orElseThrow());
             
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -154,10 +171,10 @@ public class ReadingProgressController {
     public ResponseEntity<?> deleteProgress(
             @PathVariable Integer userId,
             @PathVariable Integer novelId,
-            Authentication authentication) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         
         try {
-            if (!isAuthorized(userId, authentication)) {
+            if (!isAuthorized(userId, user)) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN)
                         .body("You can only delete your own reading progress");
             }
@@ -181,9 +198,7 @@ public class ReadingProgressController {
     /**
      * Helper method to check if user is authorized
      */
-    private boolean isAuthorized(Integer userId, Authentication authentication) {
-        String username = authentication.getName();
-        Optional<User> currentUser = userRepository.findByUsername(username);
-        return currentUser.isPresent() && currentUser.get().getUserId().equals(userId);
+    private boolean isAuthorized(Integer userId, AuthenticatedUser user) {
+        return user != null && user.owns(userId);
     }
 }
@@ -1,69 +1,96 @@
 package com.novelly.backend.controller;
 
-import com.novelly.backend.entity.Novel;
-import com.novelly.backend.entity.Review;
-import com.novelly.backend.entity.User;
-import com.novelly.backend.repository.NovelRepository;
+import com.novelly.backend.dto.CursorPageDto;
+import com.novelly.backend.dto.RatingStatsDto;
+import com.novelly.backend.dto.ReviewDto;
 import com.novelly.backend.repository.ReviewRepository;
-import com.novelly.backend.repository.UserRepository;
+import com.novelly.backend.security.AuthenticatedUser;
+import com.novelly.backend.service.ReviewService;
+import com.novelly.backend.service.trending.TrendingTracker;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/reviews")
 public class ReviewController {
 
+    private static final int MAX_BATCH_STATS = 200;
+
     @Autowired
     private ReviewRepository reviewRepository;
 
     @Autowired
-    private NovelRepository novelRepository;
+    private ReviewService reviewService;
 
     @Autowired
-    private UserRepository userRepository;
+    private TrendingTracker trendingTracker;
 
-    // Get all reviews for a novel
+    // Get the most recent reviews for a novel (first page of the feed below)
     @GetMapping("/novel/{novelId}")
-    public ResponseEntity<?> getReviewsByNovel(@PathVariable Integer novelId) {
+    public ResponseEntity<?> getReviewsByNovel(
+            @PathVariable Integer novelId,
+            @RequestParam(defaultValue = "50") int size) {
         try {
-            List<Review> reviews = reviewRepository.findByNovel_NovelId(novelId);
-            
-            // Transform to DTO with username
-            List<Map<String, Object>> reviewDTOs = reviews.stream().map(review -> {
-                Map<String, Object> dto = new HashMap<>();
-                dto.put("reviewId", review.getReviewId());
-                dto.put("rating", review.getRating());
-                dto.put("comment", review.getComment());
-                dto.put("username", review.getUser().getUsername());
-                dto.put("createdAt", review.getCreatedAt());
-                return dto;
-            }).collect(Collectors.toList());
-            
-            return ResponseEntity.ok(reviewDTOs);
+            List<ReviewDto> reviews = reviewService
+                    .getReviewFeed(novelId, ReviewService.ReviewSort.RECENT, null, size)
+                    .getItems();
+            return ResponseEntity.ok(reviews);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error fetching reviews: " + e.getMessage());
         }
     }
 
-    // Get review stats (average rating and count)
+    // Keyset-paginated review feed, newest first or highest rated first
+    // GET /api/reviews/novel/{novelId}/feed?sort=recent|rating&size=20&cursor=...
+    @GetMapping("/novel/{novelId}/feed")
+    public ResponseEntity<?> getReviewFeed(
+            @PathVariable Integer novelId,
+            @RequestParam(defaultValue = "recent") String sort,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor) {
+        ReviewService.ReviewSort reviewSort;
+        try {
+            reviewSort = ReviewService.ReviewSort.valueOf(sort.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Unknown sort: " + sort);
+        }
+        try {
+            CursorPageDto<ReviewDto> page = reviewService.getReviewFeed(novelId, reviewSort, cursor, size);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // Malformed or mismatched cursor
+            return ResponseEntity.badRequest().body("Invalid cursor");
+        }
+    }
+
+    // Get review stats (average rating, count and star histogram) from the maintained totals
     @GetMapping("/novel/{novelId}/stats")
     public ResponseEntity<?> getReviewStats(@PathVariable Integer novelId) {
         try {
-            Double avgRating = reviewRepository.getAverageRatingByNovelId(novelId);
-            Long count = reviewRepository.getReviewCountByNovelId(novelId);
-            
-            Map<String, Object> stats = new HashMap<>();
-            stats.put("averageRating", avgRating != null ? avgRating : 0.0);
-            stats.put("reviewCount", count);
-            
+            RatingStatsDto stats = reviewService.getRatingStats(novelId);
+            return ResponseEntity.ok(stats);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error fetching review stats: " + e.getMessage());
+        }
+    }
+
+    // Get review stats for many novels at once (catalogue pages)
+    // GET /api/reviews/stats?novelIds=1,2,3
+    @GetMapping("/stats")
+    public ResponseEntity<?> getReviewStatsBatch(@RequestParam List<Integer> novelIds) {
+        if (novelIds.size() > MAX_BATCH_STATS) {
+            return ResponseEntity.badRequest().body("At most " + MAX_BATCH_STATS + " novel ids per request");
+        }
+        try {
+            List<RatingStatsDto> stats = List.copyOf(reviewService.getRatingStats(new LinkedHashSet<>(novelIds)).values());
             return ResponseEntity.ok(stats);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error fetching review stats: " + e.getMessage());
@@ -75,20 +102,13 @@ public class ReviewController {
     public ResponseEntity<?> createOrUpdateReview(
             @PathVariable Integer novelId,
             @RequestBody Map<String, Object> requestBody,
-            Authentication auth) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         
-        if (auth == null || auth.getPrincipal() == null) {
+        if (user == null) {
             return ResponseEntity.status(401).body("Authentication required");
         }
 
         try {
-            String username = auth.getName();
-            User user = userRepository.findByUsername(username)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-
-            Novel novel = novelRepository.findById(novelId)
-                    .orElseThrow(() -> new RuntimeException("Novel not found"));
-
             Integer rating = (Integer) requestBody.get("rating");
             String comment = (String) requestBody.get("comment");
 
@@ -96,35 +116,8 @@ public class ReviewController {
                 return ResponseEntity.badRequest().body("Rating must be between 1 and 5");
             }
 
-            // Check if user already reviewed this novel
-            Optional<Review> existingReview = reviewRepository.findByUser_UserIdAndNovel_NovelId(
-                    user.getUserId(), novelId);
-
-            Review review;
-            if (existingReview.isPresent()) {
-                // Update existing review
-                review = existingReview.get();
-                review.setRating(rating);
-                review.setComment(comment);
-            } else {
-                // Create new review
-                review = new Review();
-                review.setUser(user);
-                review.setNovel(novel);
-                review.setRating(rating);
-                review.setComment(comment);
-            }
-
-            review = reviewRepository.save(review);
-
-            // Return DTO
-            Map<String, Object> responseDto = new HashMap<>();
-            responseDto.put("reviewId", review.getReviewId());
-            responseDto.put("rating", review.getRating());
-            responseDto.put("comment", review.getComment());
-            responseDto.put("username", review.getUser().getUsername());
-            responseDto.put("createdAt", review.getCreatedAt());
-
+            ReviewDto responseDto = reviewService.createOrUpdateReview(novelId, user.getUserId(), user.getUsername(), rating, comment);
+            trendingTracker.record(novelId, TrendingTracker.Signal.REVIEW);
             return ResponseEntity.ok(responseDto);
 
         } catch (Exception e) {
@@ -134,30 +127,18 @@ public class ReviewController {
 
     // Delete review
     @DeleteMapping("/{reviewId}")
-    public ResponseEntity<?> deleteReview(@PathVariable Integer reviewId, Authentication auth) {
-        if (auth == null || auth.getPrincipal() == null) {
+    public ResponseEntity<?> deleteReview(@PathVariable Integer reviewId, @AuthenticationPrincipal AuthenticatedUser user) {
+        if (user == null) {
             return ResponseEntity.status(401).body("Authentication required");
         }
 
         try {
-            String username = auth.getName();
-            User user = userRepository.findByUsername(username)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-
-            Review review = reviewRepository.findById(reviewId)
-                    .orElseThrow(() -> new RuntimeException("Review not found"));
-
-            // Check if user owns the review or is admin
-            boolean isAdmin = auth.getAuthorities().stream()
-                    .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
-
-            if (!review.getUser().getUserId().equals(user.getUserId()) && !isAdmin) {
-                return ResponseEntity.status(403).body("Not authorized to delete this review");
-            }
-
-            reviewRepository.delete(review);
+            // The service checks that the user owns the review or is admin
+            reviewService.deleteReview(reviewId, user.getUserId(), user.isAdmin());
             return ResponseEntity.ok("Review deleted successfully");
 
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(403).body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error deleting review: " + e.getMessage());
         }
@@ -0,0 +1,19 @@
+package com.novelly.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Stored form of a chapter body. {@code encoding} is null for plain UTF-8
+ * text, or the codec name (e.g. "gzip") when {@code data} is compressed.
+ * {@code data} may be a read-only view of a memory-mapped pack file.
+ */
+@Data
+@AllArgsConstructor
+public class ChapterContent {
+
+    private ByteBuffer data;
+    private String encoding;
+}
@@ -0,0 +1,30 @@
+package com.novelly.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChapterImportStatusDto {
+
+    private String jobId;
+    private Integer novelId;
+    private String fileName;
+    private Status status;
+    private int chaptersParsed;
+    private int chaptersInserted;
+    private int chaptersSkipped;   // Chapter numbers that already existed or repeated in the file
+    private String error;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+}
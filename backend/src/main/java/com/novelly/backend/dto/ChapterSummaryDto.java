@@ -0,0 +1,25 @@
+package com.novelly.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Table-of-contents entry for a chapter. Never carries the chapter body,
+ * so it can be built straight from a projection query.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChapterSummaryDto {
+
+    private Integer chapterId;
+    private Integer chapterNumber;
+    private String title;
+    private LocalDateTime createdAt;
+    private Integer contentLength;  // Length of the chapter text in characters
+}
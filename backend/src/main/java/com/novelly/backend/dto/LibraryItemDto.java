@@ -0,0 +1,28 @@
+package com.novelly.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LibraryItemDto {
+
+    private Integer libraryId;
+    private NovelDto novel;
+    private LocalDateTime addedAt;
+
+    // Used by JPQL constructor projections
+    public LibraryItemDto(Integer libraryId, LocalDateTime addedAt, Integer novelId, String title, String author,
+                          String description, String coverImage, Integer uploadedById,
+                          LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.libraryId = libraryId;
+        this.addedAt = addedAt;
+        this.novel = new NovelDto(novelId, title, author, description, coverImage, uploadedById, createdAt, updatedAt);
+    }
+}
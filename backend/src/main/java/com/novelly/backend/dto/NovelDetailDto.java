@@ -0,0 +1,24 @@
+package com.novelly.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NovelDetailDto {
+
+    private NovelDto novel;
+    private Long chapterCount;
+    private List<ChapterSummaryDto> latestChapters;  // Newest first
+    private Double averageRating;
+    private Long reviewCount;
+    private List<ReviewDto> reviews;                 // First page, newest first
+    private Boolean inLibrary;                       // Null when not logged in
+    private ReadingProgressDto progress;
+}
@@ -0,0 +1,24 @@
+package com.novelly.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NovelDto {
+
+    private Integer novelId;
+    private String title;
+    private String author;
+    private String description;
+    private String coverImage;
+    private Integer uploadedById;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,21 @@
+package com.novelly.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NovelSearchResultDto {
+
+    private String query;
+    private int page;
+    private int size;
+    private int total;  // Number of ranked matches (capped at search.max-results)
+    private List<NovelSummaryDto> items;
+}
@@ -0,0 +1,17 @@
+package com.novelly.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NovelSuggestionDto {
+
+    private Integer novelId;
+    private String title;
+    private String author;
+}
@@ -0,0 +1,40 @@
+package com.novelly.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Catalogue tile for a novel: no description, no uploader
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NovelSummaryDto {
+
+    private Integer novelId;
+    private String title;
+    private String author;
+    private String coverImage;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private RatingStatsDto ratingStats;  // Only when requested
+
+    // Used by JPQL constructor projections
+    public NovelSummaryDto(Integer novelId, String title, String author, String coverImage,
+                           LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.novelId = novelId;
+        this.title = title;
+        this.author = author;
+        this.coverImage = coverImage;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+}
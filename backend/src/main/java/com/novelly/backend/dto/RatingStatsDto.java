@@ -0,0 +1,20 @@
+package com.novelly.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingStatsDto {
+
+    private Integer novelId;
+    private Double averageRating;
+    private Long reviewCount;
+    private List<Long> ratingCounts;  // Number of 1..5 star reviews, in that order
+}
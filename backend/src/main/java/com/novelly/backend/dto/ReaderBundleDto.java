@@ -0,0 +1,22 @@
+package com.novelly.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Everything the reader page needs for one chapter in a single response
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReaderBundleDto {
+
+    private ChapterDto chapter;
+    private ChapterSummaryDto previous;  // null on the first chapter
+    private ChapterSummaryDto next;      // null on the latest chapter
+    private ReadingProgressDto progress; // null if the reader has no progress on this novel
+    private boolean inLibrary;
+}
@@ -0,0 +1,39 @@
+package com.novelly.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReadingProgressDto {
+
+    private Integer progressId;
+    private Integer novelId;
+    private ChapterSummaryDto chapter;  // Last chapter read, without content
+    private Integer scrollPosition;
+    private BigDecimal readingPercentage;
+    private LocalDateTime lastReadAt;
+
+    // Used by JPQL constructor projections
+    public ReadingProgressDto(Integer progressId, Integer novelId, Integer chapterId, Integer chapterNumber,
+                              String chapterTitle, Integer scrollPosition, BigDecimal readingPercentage,
+                              LocalDateTime lastReadAt) {
+        this.progressId = progressId;
+        this.novelId = novelId;
+        this.chapter = ChapterSummaryDto.builder()
+                .chapterId(chapterId)
+                .chapterNumber(chapterNumber)
+                .title(chapterTitle)
+                .build();
+        this.scrollPosition = scrollPosition;
+        this.readingPercentage = readingPercentage;
+        this.lastReadAt = lastReadAt;
+    }
+}
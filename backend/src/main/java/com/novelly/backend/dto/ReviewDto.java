@@ -0,0 +1,21 @@
+package com.novelly.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewDto {
+
+    private Integer reviewId;
+    private Integer rating;
+    private String comment;
+    private String username;
+    private LocalDateTime createdAt;
+}
@@ -1,5 +1,6 @@
 package com.novelly.backend.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -18,7 +19,7 @@ public class Chapter {
     @Column(name = "chapter_id")
     private Integer chapterId;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "novel_id", nullable = false)
     private Novel novel;
     
@@ -28,9 +29,34 @@ public class Chapter {
     @Column(name = "title")
     private String title;
     
-    @Column(name = "content", columnDefinition = "LONGTEXT", nullable = false)
+    // Plain-text body; only set for chapters written before compressed storage
+    @Column(name = "content", columnDefinition = "LONGTEXT")
     private String content;
     
+    @JsonIgnore
+    @Column(name = "content_compressed", columnDefinition = "LONGBLOB")
+    private byte[] contentCompressed;
+    
+    // Codec of the stored body (contentCompressed or pack file), e.g. "gzip"
+    @Column(name = "content_codec", length = 16)
+    private String contentCodec;
+    
+    // Location of the body in the chapter pack files (see ChapterContentStore)
+    @JsonIgnore
+    @Column(name = "content_segment")
+    private Integer contentSegment;
+    
+    @JsonIgnore
+    @Column(name = "content_offset")
+    private Long contentOffset;
+    
+    @JsonIgnore
+    @Column(name = "content_size")
+    private Integer contentSize;
+    
+    @Column(name = "content_length")
+    private Integer contentLength;
+    
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
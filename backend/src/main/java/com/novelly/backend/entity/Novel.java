@@ -7,7 +7,11 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "novels")
+@Table(name = "novels", indexes = {
+        @Index(name = "idx_novel_created", columnList = "created_at, novel_id"),
+        @Index(name = "idx_novel_updated", columnList = "updated_at, novel_id"),
+        @Index(name = "idx_novel_title", columnList = "title, novel_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -30,14 +34,25 @@ public class Novel {
     @Column(name = "cover_image")
     private String coverImage;
     
-    @ManyToOne
+    // Pre-scaled copies of cover_image; null until generated
+    @Column(name = "cover_thumbnail")
+    private String coverThumbnail;
+    
+    @Column(name = "cover_card")
+    private String coverCard;
+    
+    @Column(name = "cover_full")
+    private String coverFull;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "uploaded_by", nullable = false)
     private User uploadedBy;
     
-    @Column(name = "created_at")
+    // Both are keyset sort columns for the catalogue, so never NULL
+    @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
     
-    @Column(name = "updated_at")
+    @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
     
     @PrePersist
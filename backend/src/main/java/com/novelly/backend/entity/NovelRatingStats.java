@@ -0,0 +1,43 @@
+package com.novelly.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Running rating totals for one novel, maintained alongside review writes
+ * so that stats reads are a primary-key lookup instead of a scan of reviews.
+ */
+@Entity
+@Table(name = "novel_rating_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NovelRatingStats {
+
+    @Id
+    @Column(name = "novel_id")
+    private Integer novelId;
+
+    @Column(name = "rating_sum", nullable = false)
+    private Long ratingSum = 0L;
+
+    @Column(name = "rating_count", nullable = false)
+    private Long ratingCount = 0L;
+
+    @Column(name = "rating_1", nullable = false)
+    private Long rating1 = 0L;
+
+    @Column(name = "rating_2", nullable = false)
+    private Long rating2 = 0L;
+
+    @Column(name = "rating_3", nullable = false)
+    private Long rating3 = 0L;
+
+    @Column(name = "rating_4", nullable = false)
+    private Long rating4 = 0L;
+
+    @Column(name = "rating_5", nullable = false)
+    private Long rating5 = 0L;
+}
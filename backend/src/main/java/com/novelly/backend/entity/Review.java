@@ -8,7 +8,11 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "reviews",
-       uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "novel_id"}))
+       uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "novel_id"}),
+       indexes = {
+               @Index(name = "idx_review_novel_created", columnList = "novel_id, created_at, review_id"),
+               @Index(name = "idx_review_novel_rating", columnList = "novel_id, rating, created_at, review_id")
+       })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,11 +23,11 @@ public class Review {
     @Column(name = "review_id")
     private Integer reviewId;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "novel_id", nullable = false)
     private Novel novel;
     
@@ -1,9 +1,16 @@
 package com.novelly.backend.repository;
 
+import com.novelly.backend.dto.ChapterSummaryDto;
 import com.novelly.backend.entity.Chapter;
 import com.novelly.backend.entity.Novel;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,4 +22,44 @@ public interface ChapterRepository extends JpaRepository<Chapter, Integer> {
     Optional<Chapter> findByNovel_NovelIdAndChapterNumber(Integer novelId, Integer chapterNumber);
     boolean existsByNovel_NovelIdAndChapterNumber(Integer novelId, Integer chapterNumber);
     long countByNovel(Novel novel);
+    long countByNovel_NovelId(Integer novelId);
+
+    // Row lock for edits, so a save cannot write back a pack location the compactor has since moved
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Chapter c WHERE c.chapterId = :chapterId")
+    Optional<Chapter> findForUpdate(Integer chapterId);
+
+    @Query("SELECT c.chapterNumber FROM Chapter c WHERE c.novel.novelId = :novelId")
+    List<Integer> findChapterNumbersByNovelId(Integer novelId);
+
+    // Table of contents without loading chapter bodies; content_length falls back to LENGTH() for older rows
+    @Query("SELECT new com.novelly.backend.dto.ChapterSummaryDto(c.chapterId, c.chapterNumber, c.title, c.createdAt, " +
+           "COALESCE(c.contentLength, LENGTH(c.content))) FROM Chapter c " +
+           "WHERE c.novel.novelId = :novelId AND c.chapterNumber > :afterChapterNumber ORDER BY c.chapterNumber ASC")
+    List<ChapterSummaryDto> findTocAfter(Integer novelId, Integer afterChapterNumber, Pageable pageable);
+
+    @Query("SELECT new com.novelly.backend.dto.ChapterSummaryDto(c.chapterId, c.chapterNumber, c.title, c.createdAt, " +
+           "COALESCE(c.contentLength, LENGTH(c.content))) FROM Chapter c " +
+           "WHERE c.novel.novelId = :novelId AND c.chapterNumber < :beforeChapterNumber ORDER BY c.chapterNumber DESC")
+    List<ChapterSummaryDto> findTocBefore(Integer novelId, Integer beforeChapterNumber, Pageable pageable);
+
+    @Query("SELECT new com.novelly.backend.dto.ChapterSummaryDto(c.chapterId, c.chapterNumber, c.title, c.createdAt, " +
+           "COALESCE(c.contentLength, LENGTH(c.content))) FROM Chapter c " +
+           "WHERE c.novel.novelId = :novelId ORDER BY c.chapterNumber ASC")
+    List<ChapterSummaryDto> findToc(Integer novelId);
+
+    // Live bytes per chapter pack segment: [segment, sum(size)]
+    @Query("SELECT c.contentSegment, SUM(c.contentSize) FROM Chapter c WHERE c.contentSegment IS NOT NULL GROUP BY c.contentSegment")
+    List<Object[]> sumContentSizeBySegment();
+
+    // Chapters stored in a pack segment: [chapterId, offset, size]
+    @Query("SELECT c.chapterId, c.contentOffset, c.contentSize FROM Chapter c WHERE c.contentSegment = :segment")
+    List<Object[]> findContentLocationsBySegment(Integer segment);
+
+    // The UPDATE waits on the row lock held by an edit in findForUpdate, then re-checks the old location
+    @Modifying
+    @Transactional
+    @Query("UPDATE Chapter c SET c.contentSegment = :toSegment, c.contentOffset = :toOffset " +
+           "WHERE c.chapterId = :chapterId AND c.contentSegment = :fromSegment AND c.contentOffset = :fromOffset")
+    int relocateContent(Integer chapterId, Integer fromSegment, Long fromOffset, Integer toSegment, Long toOffset);
 }
\ No newline at end of file
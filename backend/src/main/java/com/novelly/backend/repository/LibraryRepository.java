@@ -1,11 +1,14 @@
 package com.novelly.backend.repository;
 
+import com.novelly.backend.dto.LibraryItemDto;
 import com.novelly.backend.entity.Library;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,10 +17,23 @@ public interface LibraryRepository extends JpaRepository<Library, Integer> {
     
     List<Library> findByUserUserId(Integer userId);
     
+    @Query("SELECT new com.novelly.backend.dto.LibraryItemDto(l.libraryId, l.addedAt, n.novelId, n.title, n.author, " +
+           "n.description, n.coverImage, n.uploadedBy.userId, n.createdAt, n.updatedAt) " +
+           "FROM Library l JOIN l.novel n WHERE l.user.userId = :userId ORDER BY l.addedAt DESC")
+    List<LibraryItemDto> findItemsByUserId(Integer userId);
+    
     Optional<Library> findByUserUserIdAndNovelNovelId(Integer userId, Integer novelId);
     
     boolean existsByUserUserIdAndNovelNovelId(Integer userId, Integer novelId);
     
+    // Returns [novelId, libraryCount] rows
+    @Query("SELECT l.novel.novelId, COUNT(l) FROM Library l GROUP BY l.novel.novelId")
+    List<Object[]> countByNovel();
+    
+    // Returns [novelId, addedAt] rows
+    @Query("SELECT l.novel.novelId, l.addedAt FROM Library l WHERE l.addedAt >= :since")
+    List<Object[]> findActivitySince(LocalDateTime since);
+    
     @Modifying
     @Transactional
     void deleteByUserUserIdAndNovelNovelId(Integer userId, Integer novelId);
@@ -0,0 +1,34 @@
+package com.novelly.backend.repository;
+
+import com.novelly.backend.entity.NovelRatingStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface NovelRatingStatsRepository extends JpaRepository<NovelRatingStats, Integer> {
+
+    // Adds (delta = 1) or takes out (delta = -1) one rating, creating the row on first use.
+    // Runs in the caller's transaction so the totals commit or roll back with the review.
+    // Uses the row alias form (MySQL 8.0.19+) rather than the deprecated VALUES().
+    @Modifying
+    @Query(value = "INSERT INTO novel_rating_stats " +
+                   "(novel_id, rating_sum, rating_count, rating_1, rating_2, rating_3, rating_4, rating_5) " +
+                   "VALUES (:novelId, :rating * :delta, :delta, IF(:rating = 1, :delta, 0), IF(:rating = 2, :delta, 0), " +
+                   "IF(:rating = 3, :delta, 0), IF(:rating = 4, :delta, 0), IF(:rating = 5, :delta, 0)) AS new " +
+                   "ON DUPLICATE KEY UPDATE rating_sum = rating_sum + new.rating_sum, " +
+                   "rating_count = rating_count + new.rating_count, rating_1 = rating_1 + new.rating_1, " +
+                   "rating_2 = rating_2 + new.rating_2, rating_3 = rating_3 + new.rating_3, " +
+                   "rating_4 = rating_4 + new.rating_4, rating_5 = rating_5 + new.rating_5",
+           nativeQuery = true)
+    void applyRating(Integer novelId, Integer rating, Integer delta);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM NovelRatingStats s WHERE s.novelId = :novelId")
+    Optional<NovelRatingStats> findForUpdate(Integer novelId);
+}
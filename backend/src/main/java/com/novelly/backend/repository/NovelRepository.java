@@ -1,11 +1,18 @@
 package com.novelly.backend.repository;
 
+import com.novelly.backend.dto.NovelDto;
+import com.novelly.backend.dto.NovelSummaryDto;
 import com.novelly.backend.entity.Novel;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface NovelRepository extends JpaRepository<Novel, Integer> {
@@ -16,6 +23,51 @@ public interface NovelRepository extends JpaRepository<Novel, Integer> {
     
     List<Novel> findByUploadedByUserId(Integer userId);
     
+    List<Novel> findByCoverImageIsNotNullAndCoverThumbnailIsNull();
+    
+    // Keeps updated_at (also against ON UPDATE CURRENT_TIMESTAMP), so backfills do not reorder the catalogue
+    @Modifying
+    @Transactional
+    @Query("UPDATE Novel n SET n.coverThumbnail = :thumbnail, n.coverCard = :card, n.coverFull = :full, " +
+           "n.updatedAt = n.updatedAt WHERE n.novelId = :novelId")
+    int updateCoverVariants(Integer novelId, String thumbnail, String card, String full);
+    
+    // Walks the whole table in id order, for building in-memory indexes
+    List<Novel> findByNovelIdGreaterThanOrderByNovelIdAsc(Integer novelId, Pageable pageable);
+    
     @Query("SELECT n FROM Novel n ORDER BY n.createdAt DESC")
     List<Novel> findAllOrderByCreatedAtDesc();
+    
+    @Query("SELECT new com.novelly.backend.dto.NovelDto(n.novelId, n.title, n.author, n.description, n.coverImage, " +
+           "n.uploadedBy.userId, n.createdAt, n.updatedAt) FROM Novel n ORDER BY n.createdAt DESC")
+    List<NovelDto> findAllDtoOrderByCreatedAtDesc();
+    
+    @Query("SELECT new com.novelly.backend.dto.NovelDto(n.novelId, n.title, n.author, n.description, n.coverImage, " +
+           "n.uploadedBy.userId, n.createdAt, n.updatedAt) FROM Novel n WHERE n.novelId = :novelId")
+    Optional<NovelDto> findDtoById(Integer novelId);
+
+    // Keyset-paginated catalogue queries. Each pages on (sort column, novel_id) and
+    // is backed by the matching index on Novel; pass the last row's values as the cursor.
+    String SUMMARY_SELECT = "SELECT new com.novelly.backend.dto.NovelSummaryDto(" +
+            "n.novelId, n.title, n.author, n.coverImage, n.createdAt, n.updatedAt) FROM Novel n ";
+
+    @Query(SUMMARY_SELECT +
+           "WHERE n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.novelId < :novelId) " +
+           "ORDER BY n.createdAt DESC, n.novelId DESC")
+    List<NovelSummaryDto> findCatalogNewest(LocalDateTime createdAt, Integer novelId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT +
+           "WHERE n.createdAt > :createdAt OR (n.createdAt = :createdAt AND n.novelId > :novelId) " +
+           "ORDER BY n.createdAt ASC, n.novelId ASC")
+    List<NovelSummaryDto> findCatalogOldest(LocalDateTime createdAt, Integer novelId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT +
+           "WHERE n.updatedAt < :updatedAt OR (n.updatedAt = :updatedAt AND n.novelId < :novelId) " +
+           "ORDER BY n.updatedAt DESC, n.novelId DESC")
+    List<NovelSummaryDto> findCatalogUpdated(LocalDateTime updatedAt, Integer novelId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT +
+           "WHERE n.title > :title OR (n.title = :title AND n.novelId > :novelId) " +
+           "ORDER BY n.title ASC, n.novelId ASC")
+    List<NovelSummaryDto> findCatalogByTitle(String title, Integer novelId, Pageable pageable);
 }
@@ -1,10 +1,12 @@
 package com.novelly.backend.repository;
 
+import com.novelly.backend.dto.ReadingProgressDto;
 import com.novelly.backend.entity.ReadingProgress;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,4 +19,22 @@ public interface ReadingProgressRepository extends JpaRepository<ReadingProgress
     
     @Query("SELECT rp FROM ReadingProgress rp WHERE rp.user.userId = :userId ORDER BY rp.lastReadAt DESC")
     List<ReadingProgress> findRecentReadingHistory(Integer userId);
+    
+    @Query("SELECT new com.novelly.backend.dto.ReadingProgressDto(rp.progressId, rp.novel.novelId, c.chapterId, " +
+           "c.chapterNumber, c.title, rp.scrollPosition, rp.readingPercentage, rp.lastReadAt) " +
+           "FROM ReadingProgress rp JOIN rp.chapter c WHERE rp.user.userId = :userId AND rp.novel.novelId = :novelId")
+    Optional<ReadingProgressDto> findDtoByUserIdAndNovelId(Integer userId, Integer novelId);
+    
+    @Query("SELECT new com.novelly.backend.dto.ReadingProgressDto(rp.progressId, rp.novel.novelId, c.chapterId, " +
+           "c.chapterNumber, c.title, rp.scrollPosition, rp.readingPercentage, rp.lastReadAt) " +
+           "FROM ReadingProgress rp JOIN rp.chapter c WHERE rp.user.userId = :userId ORDER BY rp.lastReadAt DESC")
+    List<ReadingProgressDto> findDtosByUserId(Integer userId);
+    
+    // Returns [novelId, readerCount] rows
+    @Query("SELECT rp.novel.novelId, COUNT(rp) FROM ReadingProgress rp GROUP BY rp.novel.novelId")
+    List<Object[]> countByNovel();
+    
+    // Returns [novelId, lastReadAt] rows
+    @Query("SELECT rp.novel.novelId, rp.lastReadAt FROM ReadingProgress rp WHERE rp.lastReadAt >= :since")
+    List<Object[]> findActivitySince(LocalDateTime since);
 }
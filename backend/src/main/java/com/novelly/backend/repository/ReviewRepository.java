@@ -1,10 +1,15 @@
 package com.novelly.backend.repository;
 
+import com.novelly.backend.dto.ReviewDto;
 import com.novelly.backend.entity.Review;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,11 +18,59 @@ public interface ReviewRepository extends JpaRepository<Review, Integer> {
     
     Optional<Review> findByUser_UserIdAndNovel_NovelId(Integer userId, Integer novelId);
     
+    // Row-locked reads for writes that move a rating in novel_rating_stats: concurrent
+    // changes to one review then apply their deltas one after the other, each from the
+    // rating the previous one committed
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Review r WHERE r.user.userId = :userId AND r.novel.novelId = :novelId")
+    Optional<Review> findForUpdate(Integer userId, Integer novelId);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Review r WHERE r.reviewId = :reviewId")
+    Optional<Review> findByIdForUpdate(Integer reviewId);
+    
     List<Review> findByNovel_NovelId(Integer novelId);
     
+    // Keyset-paginated review feed: review columns plus the reviewer's username only.
+    // Each sort pages on its index over (novel_id, ...); pass the last row's values as the cursor.
+    String FEED_SELECT = "SELECT new com.novelly.backend.dto.ReviewDto(r.reviewId, r.rating, r.comment, u.username, " +
+            "r.createdAt) FROM Review r JOIN r.user u WHERE r.novel.novelId = :novelId ";
+    
+    @Query(FEED_SELECT +
+           "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.reviewId < :reviewId)) " +
+           "ORDER BY r.createdAt DESC, r.reviewId DESC")
+    List<ReviewDto> findFeedRecent(Integer novelId, LocalDateTime createdAt, Integer reviewId, Pageable pageable);
+    
+    @Query(FEED_SELECT +
+           "AND (r.rating < :rating OR (r.rating = :rating AND (r.createdAt < :createdAt " +
+           "OR (r.createdAt = :createdAt AND r.reviewId < :reviewId)))) " +
+           "ORDER BY r.rating DESC, r.createdAt DESC, r.reviewId DESC")
+    List<ReviewDto> findFeedByRating(Integer novelId, Integer rating, LocalDateTime createdAt, Integer reviewId,
+                                     Pageable pageable);
+    
     @Query("SELECT AVG(r.rating) FROM Review r WHERE r.novel.novelId = :novelId")
     Double getAverageRatingByNovelId(Integer novelId);
     
     @Query("SELECT COUNT(r) FROM Review r WHERE r.novel.novelId = :novelId")
     Long getReviewCountByNovelId(Integer novelId);
+    
+    // Returns [novelId, reviewCount] rows
+    @Query("SELECT r.novel.novelId, COUNT(r) FROM Review r GROUP BY r.novel.novelId")
+    List<Object[]> countByNovel();
+    
+    // Returns [novelId, createdAt] rows
+    @Query("SELECT r.novel.novelId, r.createdAt FROM Review r WHERE r.createdAt >= :since")
+    List<Object[]> findActivitySince(LocalDateTime since);
+    
+    // Recomputed rating totals for reconciliation: [novelId, count, sum, ones, twos, threes, fours, fives]
+    String RATING_AGGREGATE_SELECT = "SELECT r.novel.novelId, COUNT(r), SUM(r.rating), " +
+            "SUM(CASE WHEN r.rating = 1 THEN 1 ELSE 0 END), SUM(CASE WHEN r.rating = 2 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN r.rating = 3 THEN 1 ELSE 0 END), SUM(CASE WHEN r.rating = 4 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN r.rating = 5 THEN 1 ELSE 0 END) FROM Review r ";
+    
+    @Query(RATING_AGGREGATE_SELECT + "GROUP BY r.novel.novelId")
+    List<Object[]> aggregateRatingsByNovel();
+    
+    @Query(RATING_AGGREGATE_SELECT + "WHERE r.novel.novelId = :novelId GROUP BY r.novel.novelId")
+    List<Object[]> aggregateRatingsForNovel(Integer novelId);
 }
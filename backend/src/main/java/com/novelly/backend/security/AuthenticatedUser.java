@@ -0,0 +1,75 @@
+package com.novelly.backend.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Principal set by JwtAuthenticationFilter. Controllers take it with
+ * {@code @AuthenticationPrincipal AuthenticatedUser user} and use its id for
+ * ownership checks and entity references, without looking the user up.
+ */
+public class AuthenticatedUser implements UserDetails {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final Integer userId;
+    private final String username;
+    private final String role;
+    // Only set when loaded from the database; tokens never carry it
+    private final String password;
+
+    public AuthenticatedUser(Integer userId, String username, String role, String password) {
+        this.userId = userId;
+        this.username = username;
+        this.role = role;
+        this.password = password;
+    }
+
+    public Integer getUserId() {
+        return userId;
+    }
+
+    /**
+     * Role name without the ROLE_ prefix, e.g. ADMIN or USER
+     */
+    public String getRole() {
+        return role;
+    }
+
+    public boolean isAdmin() {
+        return "ADMIN".equals(role);
+    }
+
+    /**
+     * Whether this user may act on data belonging to the given user id
+     */
+    public boolean owns(Integer ownerId) {
+        return userId != null && userId.equals(ownerId);
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority(ROLE_PREFIX + role));
+    }
+
+    /**
+     * Role name from an authority string such as ROLE_ADMIN
+     */
+    static String roleOf(String authority) {
+        return authority.startsWith(ROLE_PREFIX) ? authority.substring(ROLE_PREFIX.length()) : authority;
+    }
+}
@@ -1,5 +1,6 @@
 package com.novelly.backend.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -28,13 +29,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         final String prefix = "Bearer ";
         String username = null;
         String jwt = null;
+        Claims claims = null;
         logger.debug("Incoming request: " + request.getMethod() + " " + request.getRequestURI() + " Authorization present=" + (authHeader != null));
 
         if (authHeader != null && authHeader.startsWith(prefix)) {
             jwt = authHeader.substring(prefix.length());
             logger.debug("JWT length: " + (jwt != null ? jwt.length() : "null"));
             try {
-                username = jwtService.extractUsername(jwt);
+                // Verified once here; the claims are reused below instead of re-parsing
+                claims = jwtService.verify(jwt);
+                username = claims.getSubject();
                 logger.debug("Extracted username from JWT: " + username);
             } catch (Exception e) {
                 logger.warn("Invalid JWT token: " + e.getMessage());
@@ -43,9 +47,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            // Signed uid/roles claims need no lookup; older tokens (or stateless mode off) load the user.
+            // Either way the principal is an AuthenticatedUser carrying the user id.
+            UserDetails userDetails = jwtService.userFromClaims(claims);
+            if (userDetails == null) {
+                userDetails = userDetailsService.loadUserByUsername(username);
+            }
             logger.debug("User authorities: " + userDetails.getAuthorities());
-            if (jwtService.validateToken(jwt, userDetails)) {
+            if (jwtService.validateToken(claims, userDetails)) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
@@ -1,69 +1,213 @@
 package com.novelly.backend.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
 
 @Service
 public class JwtService {
 
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLES_CLAIM = "roles";
+
     @Value("${jwt.secret:ChangeThisDefaultSecretToSomethingSecure}")
     private String jwtSecret;
 
     @Value("${jwt.expiration-ms:3600000}")
     private long jwtExpirationMs;
 
+    @Value("${jwt.cache.max-entries:50000}")
+    private long cacheMaxEntries;
+
+    // Opt-in: trust the uid/roles claims instead of loading the user on every request.
+    // A demoted, banned or deleted user then keeps their access until the token expires.
+    @Value("${jwt.stateless:false}")
+    private boolean stateless;
+
     private SecretKey key;
 
+    // Immutable and thread-safe once built
+    private JwtParser parser;
+
+    // SHA-256 of the token -> its verified claims, each entry expiring with its token
+    private Cache<String, Claims> verified;
+
+    private final LongAdder verifications = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
     @PostConstruct
     public void init() {
         key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+        verified = Caffeine.newBuilder()
+                .maximumSize(cacheMaxEntries)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
     }
 
     public String generateToken(UserDetails userDetails) {
+        return generateToken(userDetails, null);
+    }
+
+    /**
+     * Token carrying the user's id and role names, enough to authenticate
+     * requests without loading the user
+     */
+    public String generateToken(UserDetails userDetails, Integer userId) {
         Date now = new Date();
         Date expiry = new Date(now.getTime() + jwtExpirationMs);
-        return Jwts.builder()
+        List<String> roles = userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList());
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(now)
                 .setExpiration(expiry)
-                .claim("roles", userDetails.getAuthorities())
+                .claim(ROLES_CLAIM, roles);
+        if (userId != null) {
+            builder.claim(USER_ID_CLAIM, userId);
+        }
+        return builder
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Verify a token's signature and expiry, at most once while it stays cached.
+     * Throws JwtException if the token is malformed, forged or expired.
+     */
+    public Claims verify(String token) {
+        String digest = digest(token);
+        Claims claims = verified.getIfPresent(digest);
+        if (claims != null && !isExpired(claims)) {
+            return claims;
+        }
+        try {
+            verifications.increment();
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            rejections.increment();
+            throw e;
+        }
+        verified.put(digest, claims);
+        return claims;
+    }
+
     public String extractUsername(String token) {
-        Claims claims = parseToken(token);
-        return claims.getSubject();
+        return verify(token).getSubject();
     }
 
     public boolean isTokenExpired(String token) {
-        Claims claims = parseToken(token);
-        return claims.getExpiration().before(new Date());
+        return isExpired(verify(token));
     }
 
-    private Claims parseToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public boolean validateToken(String token, UserDetails userDetails) {
+        return validateToken(verify(token), userDetails);
     }
 
-    public boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+    public boolean validateToken(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername()) && !isExpired(claims);
     }
 
     public Claims extractAllClaims(String token) {
-        return parseToken(token);
+        return verify(token);
+    }
+
+    /**
+     * The user described by a verified token's claims, or null when stateless
+     * authentication is off or the token predates the uid/roles claims
+     * (the caller then loads the user)
+     */
+    public AuthenticatedUser userFromClaims(Claims claims) {
+        if (!stateless || !(claims.get(USER_ID_CLAIM) instanceof Number userId)
+                || !(claims.get(ROLES_CLAIM) instanceof List<?> roles) || roles.isEmpty()) {
+            return null;
+        }
+        // Older tokens serialized whole authority objects
+        if (!(roles.get(0) instanceof String authority)) {
+            return null;
+        }
+        return new AuthenticatedUser(userId.intValue(), claims.getSubject(), AuthenticatedUser.roleOf(authority), null);
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats cacheStats = verified.stats();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("cachedTokens", verified.estimatedSize());
+        stats.put("hits", cacheStats.hitCount());
+        stats.put("misses", cacheStats.missCount());
+        stats.put("hitRate", cacheStats.hitRate());
+        stats.put("evictions", cacheStats.evictionCount());
+        stats.put("signatureVerifications", verifications.sum());
+        stats.put("rejectedTokens", rejections.sum());
+        return stats;
+    }
+
+    private static boolean isExpired(Claims claims) {
+        return claims.getExpiration() != null && claims.getExpiration().before(new Date());
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Entries live until their token's exp claim; tokens without one are not cached for long
+    private static class UntilTokenExpiry implements Expiry<String, Claims> {
+
+        private static final long NO_EXPIRY_TTL_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+        @Override
+        public long expireAfterCreate(String digest, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return NO_EXPIRY_TTL_NANOS;
+            }
+            long remainingMillis = expiration.getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String digest, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(digest, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String digest, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
@@ -0,0 +1,109 @@
+package com.novelly.backend.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Per-route rate limits for the API, keyed by the authenticated user's id or,
+ * for anonymous requests, the client address. Runs after JwtAuthenticationFilter
+ * so the principal is known; over-limit requests get 429 with Retry-After.
+ * File downloads are not limited, as one page view fetches many covers.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final PathPatternParser PATTERNS = PathPatternParser.defaultInstance;
+
+    private final RateLimiter rateLimiter;
+    private final boolean enabled;
+    // First match wins
+    private final List<Route> routes;
+
+    public RateLimitFilter(RateLimiter rateLimiter,
+                           @Value("${ratelimit.enabled:true}") boolean enabled,
+                           @Value("${ratelimit.auth.per-second:1}") double authRate,
+                           @Value("${ratelimit.auth.burst:10}") int authBurst,
+                           @Value("${ratelimit.search.per-second:5}") double searchRate,
+                           @Value("${ratelimit.search.burst:20}") int searchBurst,
+                           @Value("${ratelimit.progress.per-second:5}") double progressRate,
+                           @Value("${ratelimit.progress.burst:20}") int progressBurst,
+                           @Value("${ratelimit.default.per-second:20}") double defaultRate,
+                           @Value("${ratelimit.default.burst:60}") int defaultBurst) {
+        this.rateLimiter = rateLimiter;
+        this.enabled = enabled;
+        RateLimiter.Policy auth = new RateLimiter.Policy("auth", authRate, authBurst);
+        RateLimiter.Policy search = new RateLimiter.Policy("search", searchRate, searchBurst);
+        RateLimiter.Policy progress = new RateLimiter.Policy("progress", progressRate, progressBurst);
+        RateLimiter.Policy standard = new RateLimiter.Policy("default", defaultRate, defaultBurst);
+        this.routes = List.of(
+                new Route(path("/api/auth/login").or(path("/api/auth/register")).or(path("/api/auth/hash")), auth),
+                // Suggestions are answered from memory and fire per keystroke, so they stay on the default
+                new Route(path("/api/novels/search")
+                        .or(path("/api/novels").and(request -> request.getParameter("q") != null)), search),
+                new Route(path("/api/users/*/progress/**"), progress),
+                new Route(path("/api/**"), standard));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !enabled || !path.startsWith("/api/") || path.startsWith("/api/pages/file");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        RateLimiter.Policy policy = routes.stream()
+                .filter(route -> route.matcher().test(request))
+                .map(Route::policy)
+                .findFirst()
+                .orElse(null);
+        if (policy != null) {
+            long waitNanos = rateLimiter.tryAcquire(policy, clientKey(request));
+            if (waitNanos > 0) {
+                long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+                response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+                response.getWriter().write("Too many requests, retry in " + retryAfterSeconds + "s");
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user
+                && user.getUserId() != null) {
+            return "u" + user.getUserId();
+        }
+        return "ip" + request.getRemoteAddr();
+    }
+
+    private static Predicate<HttpServletRequest> path(String pattern) {
+        PathPattern parsed = PATTERNS.parse(pattern);
+        return request -> parsed.matches(PathContainer.parsePath(
+                request.getRequestURI().substring(request.getContextPath().length())));
+    }
+
+    private record Route(Predicate<HttpServletRequest> matcher, RateLimiter.Policy policy) {
+    }
+}
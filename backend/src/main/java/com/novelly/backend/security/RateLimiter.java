@@ -0,0 +1,106 @@
+package com.novelly.backend.security;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Token-bucket limiting in the GCRA form: each bucket is a single AtomicLong
+ * holding its theoretical arrival time (TAT), advanced with compare-and-set,
+ * so a check takes no lock. ConcurrentHashMap stripes the buckets themselves.
+ * A bucket whose TAT has passed is full again and carries no state, so idle
+ * buckets are simply dropped.
+ */
+@Component
+public class RateLimiter {
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> allowed = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> rejected = new ConcurrentHashMap<>();
+    private final LongAdder evicted = new LongAdder();
+    private final LongSupplier nanoClock;
+
+    public RateLimiter() {
+        this(System::nanoTime);
+    }
+
+    // Tests drive time by hand
+    RateLimiter(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * A sustained rate with room for bursts of up to burst requests
+     */
+    public record Policy(String name, double perSecond, int burst) {
+
+        long emissionIntervalNanos() {
+            return (long) (TimeUnit.SECONDS.toNanos(1) / perSecond);
+        }
+
+        long burstNanos() {
+            return emissionIntervalNanos() * burst;
+        }
+    }
+
+    /**
+     * Take one request from the key's bucket. Returns 0 if allowed, otherwise
+     * how many nanoseconds until a request would be.
+     */
+    public long tryAcquire(Policy policy, String key) {
+        long interval = policy.emissionIntervalNanos();
+        long burst = policy.burstNanos();
+        // A new bucket's TAT is now, i.e. full
+        AtomicLong tat = buckets.computeIfAbsent(policy.name() + ':' + key, k -> new AtomicLong(nanoClock.getAsLong()));
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long current = tat.get();
+            // nanoTime values are only comparable by difference
+            long next = (current - now > 0 ? current : now) + interval;
+            if (next - now > burst) {
+                rejected.computeIfAbsent(policy.name(), n -> new LongAdder()).increment();
+                return next - now - burst;
+            }
+            if (tat.compareAndSet(current, next)) {
+                allowed.computeIfAbsent(policy.name(), n -> new LongAdder()).increment();
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drop buckets that have refilled completely; they are recreated full on demand
+     */
+    @Scheduled(fixedDelayString = "${ratelimit.evict-interval-ms:60000}",
+               initialDelayString = "${ratelimit.evict-interval-ms:60000}")
+    public void evictIdle() {
+        long now = nanoClock.getAsLong();
+        buckets.entrySet().removeIf(entry -> {
+            boolean idle = entry.getValue().get() - now <= 0;
+            if (idle) {
+                evicted.increment();
+            }
+            return idle;
+        });
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("buckets", buckets.size());
+        stats.put("evictedBuckets", evicted.sum());
+        Map<String, Long> allowedByPolicy = new LinkedHashMap<>();
+        allowed.forEach((policy, count) -> allowedByPolicy.put(policy, count.sum()));
+        Map<String, Long> rejectedByPolicy = new LinkedHashMap<>();
+        rejected.forEach((policy, count) -> rejectedByPolicy.put(policy, count.sum()));
+        stats.put("allowed", allowedByPolicy);
+        stats.put("rejected", rejectedByPolicy);
+        return stats;
+    }
+}
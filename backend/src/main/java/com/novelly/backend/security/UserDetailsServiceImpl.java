@@ -1,35 +1,78 @@
 package com.novelly.backend.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.novelly.backend.entity.User;
 import com.novelly.backend.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
+/**
+ * Loads users for token authentication when roles are not taken from the token.
+ * Results are cached for a short TTL, keyed by the name or email looked up;
+ * UserService evicts a user's entries when it changes or is deleted.
+ */
 @Service
-@RequiredArgsConstructor
 public class UserDetailsServiceImpl implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final Cache<String, AuthenticatedUser> users;
+
+    public UserDetailsServiceImpl(UserRepository userRepository,
+                                  @Value("${auth.user-cache.ttl-seconds:60}") long ttlSeconds,
+                                  @Value("${auth.user-cache.max-entries:10000}") long maxEntries) {
+        this.userRepository = userRepository;
+        this.users = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxEntries)
+                .recordStats()
+                .build();
+    }
 
     @Override
-    public UserDetails loadUserByUsername(String usernameOrEmail) throws UsernameNotFoundException {
+    public AuthenticatedUser loadUserByUsername(String usernameOrEmail) throws UsernameNotFoundException {
+        AuthenticatedUser cached = users.getIfPresent(usernameOrEmail);
+        if (cached != null) {
+            return cached;
+        }
+
         User user = userRepository.findByEmail(usernameOrEmail)
                 .or(() -> userRepository.findByUsername(usernameOrEmail))
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + usernameOrEmail));
 
         var roleName = user.getRole() != null ? user.getRole().getRoleName().name() : "USER";
-        var authority = new SimpleGrantedAuthority("ROLE_" + roleName);
 
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getUsername())
-                .password(user.getPasswordHash())
-                .authorities(Collections.singletonList(authority))
-                .build();
+        AuthenticatedUser details = new AuthenticatedUser(user.getUserId(), user.getUsername(), roleName, user.getPasswordHash());
+        users.put(usernameOrEmail, details);
+        return details;
+    }
+
+    /**
+     * Forget a user under both keys it may have been loaded by
+     */
+    public void evict(User user) {
+        if (user.getUsername() != null) {
+            users.invalidate(user.getUsername());
+        }
+        if (user.getEmail() != null) {
+            users.invalidate(user.getEmail());
+        }
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats cacheStats = users.stats();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", users.estimatedSize());
+        stats.put("hits", cacheStats.hitCount());
+        stats.put("misses", cacheStats.missCount());
+        stats.put("hitRate", cacheStats.hitRate());
+        return stats;
     }
 }
@@ -0,0 +1,29 @@
+package com.novelly.backend.service;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+/**
+ * Append-only store for chapter bodies, kept outside the database. The
+ * {@code chapters} row only records where its bytes live.
+ */
+public interface ChapterContentStore {
+
+    record Location(int segment, long offset, int length) {
+    }
+
+    // append bytes to the active segment; call flush() before committing rows that point at them
+    Location append(byte[] data);
+
+    // force appended bytes to disk
+    void flush();
+
+    // read-only view of the stored bytes, backed by a memory-mapped segment
+    ByteBuffer read(Location location);
+
+    // segment id -> file size, for every segment that no longer receives appends
+    Map<Integer, Long> getSealedSegments();
+
+    // remove a sealed segment once nothing points into it
+    void deleteSegment(int segment);
+}
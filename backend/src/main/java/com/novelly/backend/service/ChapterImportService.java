@@ -0,0 +1,20 @@
+package com.novelly.backend.service;
+
+import com.novelly.backend.dto.ChapterImportStatusDto;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.Optional;
+
+public interface ChapterImportService {
+
+    /**
+     * Queue a bulk import of chapters from a TXT, EPUB or ZIP file.
+     * Returns immediately; poll {@link #getStatus} for progress.
+     */
+    ChapterImportStatusDto startImport(Integer novelId, MultipartFile file);
+
+    /**
+     * Get the progress of an import job, empty if the job is unknown
+     */
+    Optional<ChapterImportStatusDto> getStatus(String jobId);
+}
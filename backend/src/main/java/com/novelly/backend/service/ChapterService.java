@@ -1,6 +1,10 @@
 package com.novelly.backend.service;
 
+import com.novelly.backend.dto.ChapterContent;
 import com.novelly.backend.dto.ChapterDto;
+import com.novelly.backend.dto.ChapterSummaryDto;
+import com.novelly.backend.dto.CursorPageDto;
+import com.novelly.backend.dto.ReaderBundleDto;
 import com.novelly.backend.entity.Chapter;
 
 import java.util.List;
@@ -8,10 +12,16 @@ import java.util.List;
 public interface ChapterService {
     
     /**
-     * Get all chapters for a specific novel
+     * Get all chapters for a specific novel, without content
      */
     List<ChapterDto> getChaptersByNovelId(Integer novelId);
     
+    /**
+     * Get one page of a novel's table of contents (no chapter content),
+     * starting after the given chapter number
+     */
+    CursorPageDto<ChapterSummaryDto> getChapterToc(Integer novelId, Integer afterChapterNumber, int limit);
+    
     /**
      * Get a specific chapter by novel ID and chapter number
      */
@@ -22,6 +32,17 @@ public interface ChapterService {
      */
     ChapterDto getChapterById(Integer chapterId);
     
+    /**
+     * Get a chapter's body in its stored (possibly compressed) form
+     */
+    ChapterContent getChapterContent(Integer chapterId);
+    
+    /**
+     * Get a chapter together with its neighbours and the reader's progress
+     * and library state, for the reader page (userId may be null)
+     */
+    ReaderBundleDto getReaderBundle(Integer chapterId, Integer userId);
+    
     /**
      * Create a new chapter with text content
      */
@@ -0,0 +1,51 @@
+package com.novelly.backend.service;
+
+import java.util.Map;
+
+public interface CoverImageService {
+
+    /**
+     * Pre-scaled cover sizes, by maximum width in pixels. Variants are written
+     * next to the original as {name}_{suffix}.jpg.
+     */
+    enum CoverSize {
+        THUMB("thumb", 160),
+        CARD("card", 400),
+        FULL("full", 1200);
+
+        private final String suffix;
+        private final int maxWidth;
+
+        CoverSize(String suffix, int maxWidth) {
+            this.suffix = suffix;
+            this.maxWidth = maxWidth;
+        }
+
+        public String getSuffix() {
+            return suffix;
+        }
+
+        public int getMaxWidth() {
+            return maxWidth;
+        }
+    }
+
+    /**
+     * Decode a stored cover once and write every size next to it.
+     * Returns the variants' storage-relative paths, or an empty map if the
+     * file is not an image ImageIO can read.
+     */
+    Map<CoverSize, String> generateVariants(String originalPath);
+
+    /**
+     * Storage-relative path of a cover's variant, or the original path
+     * when that variant has not been generated
+     */
+    String resolveVariant(String originalPath, CoverSize size);
+
+    /**
+     * Generate variants for every novel cover that has none yet, in parallel.
+     * Returns counts of processed and failed covers.
+     */
+    Map<String, Integer> backfillMissingVariants();
+}
@@ -6,10 +6,19 @@ import org.springframework.web.multipart.MultipartFile;
 import java.nio.file.Path;
 
 public interface FileStorageService {
+    // Result of storing an upload: path relative to the root, SHA-256 of the content (hex),
+    // content type sniffed from the leading bytes, and size in bytes
+    record StoredFile(String relativePath, String sha256, String contentType, long size) {}
+
     // store file under optional subDir (e.g. "novels/{comicId}/chapters/{chapterId}")
     // returns stored relative path (use this value in DB)
     String store(org.springframework.web.multipart.MultipartFile file, String subDir);
 
+    // Stream an upload to disk without buffering it in memory. The file is named by its
+    // SHA-256, so identical uploads share one file. Throws StorageBusyException when too
+    // many uploads are already in progress, and UploadTooLargeException above file.upload.max-file-bytes.
+    StoredFile storeFile(MultipartFile file, String subDir);
+
     Resource loadAsResource(String relativePath);
 
     Path getRootLocation();
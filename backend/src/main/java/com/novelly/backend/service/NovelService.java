@@ -0,0 +1,34 @@
+package com.novelly.backend.service;
+
+import com.novelly.backend.dto.CursorPageDto;
+import com.novelly.backend.dto.NovelDetailDto;
+import com.novelly.backend.dto.NovelSummaryDto;
+import com.novelly.backend.entity.Novel;
+
+import java.util.Optional;
+
+public interface NovelService {
+
+    /**
+     * Find a novel by ID; concurrent lookups of the same ID share one query
+     */
+    Optional<Novel> findById(Integer novelId);
+
+    /**
+     * Get one page of the novel catalogue, continuing from the given cursor
+     * (null for the first page), optionally with each novel's rating stats
+     */
+    CursorPageDto<NovelSummaryDto> getCatalog(CatalogSort sort, String cursor, int size, boolean includeStats);
+
+    /**
+     * Get everything the novel page shows in one call: header, chapter count,
+     * latest chapters, rating summary, first reviews and the caller's
+     * library/progress state (userId may be null). Throws QueryExecutorBusyException
+     * when the query fan-out queue is full
+     */
+    Optional<NovelDetailDto> getDetail(Integer novelId, Integer userId);
+
+    enum CatalogSort {
+        NEWEST, OLDEST, UPDATED, TITLE
+    }
+}
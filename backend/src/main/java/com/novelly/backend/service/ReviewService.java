@@ -0,0 +1,50 @@
+package com.novelly.backend.service;
+
+import com.novelly.backend.dto.CursorPageDto;
+import com.novelly.backend.dto.RatingStatsDto;
+import com.novelly.backend.dto.ReviewDto;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface ReviewService {
+
+    /**
+     * Get one page of a novel's reviews, continuing from the given cursor
+     * (null for the first page)
+     */
+    CursorPageDto<ReviewDto> getReviewFeed(Integer novelId, ReviewSort sort, String cursor, int size);
+
+    /**
+     * Create the user's review of a novel, or replace their existing one.
+     * The novel's rating totals are updated in the same transaction;
+     * username is only echoed into the returned review.
+     */
+    ReviewDto createOrUpdateReview(Integer novelId, Integer userId, String username, Integer rating, String comment);
+
+    /**
+     * Delete a review; only its author or an admin may do so
+     * (AccessDeniedException otherwise)
+     */
+    void deleteReview(Integer reviewId, Integer userId, boolean isAdmin);
+
+    /**
+     * Get a novel's average rating, review count and star histogram
+     */
+    RatingStatsDto getRatingStats(Integer novelId);
+
+    /**
+     * Get rating stats for many novels with one primary-key batch lookup;
+     * novels without reviews get zeroed stats
+     */
+    Map<Integer, RatingStatsDto> getRatingStats(Collection<Integer> novelIds);
+
+    /**
+     * Recount a novel's rating totals from its reviews, correcting any drift
+     */
+    void reconcileRatingStats(Integer novelId);
+
+    enum ReviewSort {
+        RECENT, RATING
+    }
+}
@@ -13,4 +13,5 @@ public interface UserService {
     boolean existsByEmail(String email);
     List<User> findAll();
     void delete(Integer id);
+    void updatePasswordHash(Integer id, String passwordHash);
 }
\ No newline at end of file
@@ -0,0 +1,146 @@
+package com.novelly.backend.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.novelly.backend.dto.ChapterDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process cache of chapter DTOs, bounded by the total size of the cached
+ * chapter text rather than by entry count. Eviction is Caffeine's W-TinyLFU,
+ * so a burst of one-off reads cannot flush the hot chapters.
+ * <p>
+ * Loads read outside the writer's transaction, so a load that started before
+ * a chapter was changed may finish after its eviction. Every eviction bumps a
+ * generation counter, and put refuses a DTO loaded under an older generation.
+ * Entries are held as immutable snapshots; callers always get their own DTO.
+ */
+@Component
+public class ChapterCache {
+
+    // Rough per-entry cost of the DTO itself, on top of its text
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+
+    private final Cache<Integer, CachedChapter> chaptersById;
+
+    // (novelId, chapterNumber) -> chapterId, so the text is only held once
+    private final Cache<NumberKey, Integer> idsByNumber;
+
+    // Bumped by every eviction; put and evict hold the lock so neither interleaves the other
+    private final AtomicLong generation = new AtomicLong();
+    private final Object writeLock = new Object();
+    private final LongAdder stalePutsRejected = new LongAdder();
+
+    public ChapterCache(@Value("${chapter.cache.max-bytes:67108864}") long maxBytes,
+                        @Value("${chapter.cache.max-number-keys:200000}") long maxNumberKeys,
+                        @Value("${chapter.cache.ttl-seconds:1800}") long ttlSeconds) {
+        this.chaptersById = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Integer id, CachedChapter chapter) -> weigh(chapter))
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.idsByNumber = Caffeine.newBuilder()
+                .maximumSize(maxNumberKeys)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    public ChapterDto getById(Integer chapterId) {
+        CachedChapter chapter = chaptersById.getIfPresent(chapterId);
+        return chapter != null ? chapter.toDto() : null;
+    }
+
+    public ChapterDto getByNumber(Integer novelId, Integer chapterNumber) {
+        Integer chapterId = idsByNumber.getIfPresent(new NumberKey(novelId, chapterNumber));
+        return chapterId != null ? getById(chapterId) : null;
+    }
+
+    /**
+     * Take before reading a chapter from the database and pass to put
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Cache a chapter loaded at the given generation, unless an eviction has
+     * happened since (the row read may already be outdated)
+     */
+    public void put(ChapterDto chapter, long loadedAt) {
+        synchronized (writeLock) {
+            if (generation.get() != loadedAt) {
+                stalePutsRejected.increment();
+                return;
+            }
+            chaptersById.put(chapter.getChapterId(), CachedChapter.of(chapter));
+            idsByNumber.put(new NumberKey(chapter.getNovelId(), chapter.getChapterNumber()), chapter.getChapterId());
+        }
+    }
+
+    public void evict(Integer chapterId, Integer novelId, Integer chapterNumber) {
+        synchronized (writeLock) {
+            generation.incrementAndGet();
+            chaptersById.invalidate(chapterId);
+            idsByNumber.invalidate(new NumberKey(novelId, chapterNumber));
+        }
+    }
+
+    /**
+     * A caller-owned copy of a DTO that may be shared, e.g. by a SingleFlight load
+     */
+    public static ChapterDto copyOf(ChapterDto chapter) {
+        return CachedChapter.of(chapter).toDto();
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats byId = chaptersById.stats();
+        CacheStats byNumber = idsByNumber.stats();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", chaptersById.estimatedSize());
+        stats.put("weightedBytes", chaptersById.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L));
+        stats.put("hits", byId.hitCount());
+        stats.put("misses", byId.missCount());
+        stats.put("hitRate", byId.hitRate());
+        stats.put("evictions", byId.evictionCount());
+        stats.put("evictedBytes", byId.evictionWeight());
+        stats.put("numberKeyHits", byNumber.hitCount());
+        stats.put("numberKeyMisses", byNumber.missCount());
+        stats.put("stalePutsRejected", stalePutsRejected.sum());
+        return stats;
+    }
+
+    private static int weigh(CachedChapter chapter) {
+        long textBytes = 2L * ((chapter.content() != null ? chapter.content().length() : 0)
+                + (chapter.title() != null ? chapter.title().length() : 0));
+        return (int) Math.min(Integer.MAX_VALUE, textBytes + ENTRY_OVERHEAD_BYTES);
+    }
+
+    private record CachedChapter(Integer chapterId, Integer novelId, Integer chapterNumber,
+                                 String title, String content, LocalDateTime createdAt) {
+
+        static CachedChapter of(ChapterDto dto) {
+            return new CachedChapter(dto.getChapterId(), dto.getNovelId(), dto.getChapterNumber(),
+                    dto.getTitle(), dto.getContent(), dto.getCreatedAt());
+        }
+
+        ChapterDto toDto() {
+            return new ChapterDto(chapterId, novelId, chapterNumber, title, content, createdAt);
+        }
+    }
+
+    private record NumberKey(Integer novelId, Integer chapterNumber) {
+    }
+}
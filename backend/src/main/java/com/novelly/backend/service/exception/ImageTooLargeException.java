@@ -0,0 +1,8 @@
+package com.novelly.backend.service.exception;
+
+/**
+ * Thrown when an image declares more pixels than we are willing to decode.
+ */
+public class ImageTooLargeException extends FileStorageException {
+    public ImageTooLargeException(String message) { super(message); }
+}
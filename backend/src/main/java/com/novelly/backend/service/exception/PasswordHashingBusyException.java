@@ -0,0 +1,8 @@
+package com.novelly.backend.service.exception;
+
+/**
+ * Thrown when the password hashing queue is full; callers should retry later.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException(String message) { super(message); }
+}
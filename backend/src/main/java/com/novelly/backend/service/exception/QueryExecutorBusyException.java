@@ -0,0 +1,8 @@
+package com.novelly.backend.service.exception;
+
+/**
+ * Thrown when the query fan-out queue is full; callers should retry later.
+ */
+public class QueryExecutorBusyException extends RuntimeException {
+    public QueryExecutorBusyException(String message) { super(message); }
+}
@@ -0,0 +1,8 @@
+package com.novelly.backend.service.exception;
+
+/**
+ * Thrown when the upload concurrency limit is reached; callers should retry later.
+ */
+public class StorageBusyException extends FileStorageException {
+    public StorageBusyException(String message) { super(message); }
+}
@@ -0,0 +1,8 @@
+package com.novelly.backend.service.exception;
+
+/**
+ * Thrown when an upload is larger than the storage service accepts.
+ */
+public class UploadTooLargeException extends FileStorageException {
+    public UploadTooLargeException(String message) { super(message); }
+}
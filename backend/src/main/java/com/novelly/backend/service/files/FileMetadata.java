@@ -0,0 +1,37 @@
+package com.novelly.backend.service.files;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * What a response needs to know about a served file besides its bytes.
+ * Content-addressed names (sha256.ext, as written by FileStorageService.storeFile)
+ * use the hash as ETag and never change; anything else gets a size/mtime ETag.
+ */
+public record FileMetadata(String filename, long length, long lastModified, String etag,
+                           MediaType contentType, boolean immutable) {
+
+    private static final Pattern CONTENT_ADDRESSED = Pattern.compile("([0-9a-f]{64})\\.[a-z0-9]{1,8}");
+
+    public static FileMetadata read(Path file) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        long length = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        String filename = file.getFileName().toString();
+
+        Matcher addressed = CONTENT_ADDRESSED.matcher(filename);
+        boolean immutable = addressed.matches();
+        String etag = immutable
+                ? "\"" + addressed.group(1) + "\""
+                : "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+        MediaType contentType = MediaTypeFactory.getMediaType(filename).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        return new FileMetadata(filename, length, lastModified, etag, contentType, immutable);
+    }
+}
@@ -0,0 +1,161 @@
+package com.novelly.backend.service.files;
+
+import com.novelly.backend.service.FileStorageService;
+import com.novelly.backend.service.exception.FileStorageException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Writes a stored file to the response with validators (ETag, Last-Modified),
+ * single-range support and without reading it onto the heap: hot files come
+ * from HotFileCache, others go out through Tomcat's sendfile when the
+ * connector offers it and FileChannel.transferTo otherwise.
+ */
+@Component
+@RequiredArgsConstructor
+public class FileResponseWriter {
+
+    private static final Pattern SINGLE_RANGE = Pattern.compile("bytes=(\\d*)-(\\d*)");
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final String CACHE_IMMUTABLE = "public, max-age=31536000, immutable";
+    private static final String CACHE_REVALIDATE = "public, no-cache";
+
+    private final FileStorageService fileStorageService;
+    private final HotFileCache hotFileCache;
+
+    /**
+     * Serve a storage-relative path; 404 when it is missing or outside the storage root
+     */
+    public void write(String relativePath, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        write(relativePath, true, request, response);
+    }
+
+    /**
+     * Serve a storage-relative path. allowImmutable must be false when the path
+     * stands in for something else the client asked for (e.g. the original
+     * cover served for a variant not generated yet), so the client revalidates
+     * and picks up the real file once it exists.
+     */
+    public void write(String relativePath, boolean allowImmutable,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path root = fileStorageService.getRootLocation();
+        Path file = root.resolve(relativePath).normalize();
+        if (file.startsWith(root)) {
+            HotFileCache.CachedFile cached = hotFileCache.get(file);
+            if (cached != null) {
+                write(cached.metadata(), allowImmutable, cached.body(), null, request, response);
+                return;
+            }
+        }
+
+        try {
+            file = fileStorageService.loadAsResource(relativePath).getFile().toPath();
+        } catch (FileStorageException e) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        FileMetadata metadata = FileMetadata.read(file);
+        write(metadata, allowImmutable, null, file, request, response);
+        hotFileCache.offer(file, metadata);
+    }
+
+    // Exactly one of body and file is set
+    private void write(FileMetadata metadata, boolean allowImmutable, ByteBuffer body, Path file,
+                       HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long length = metadata.length();
+        String etag = metadata.etag();
+
+        boolean immutable = allowImmutable && metadata.immutable();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, immutable ? CACHE_IMMUTABLE : CACHE_REVALIDATE);
+        // Sets ETag/Last-Modified and answers 304 when the client's copy is current
+        if (new ServletWebRequest(request, response).checkNotModified(etag, metadata.lastModified())) {
+            return;
+        }
+
+        response.setContentType(metadata.contentType().toString());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        long start = 0;
+        long end = length;  // exclusive
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            Matcher m = SINGLE_RANGE.matcher(range.trim());
+            // Multi-range requests are answered with the whole file, which RFC 9110 allows
+            if (m.matches() && !(m.group(1).isEmpty() && m.group(2).isEmpty())) {
+                if (m.group(1).isEmpty()) {
+                    start = Math.max(0, length - parsePosition(m.group(2)));
+                } else {
+                    start = parsePosition(m.group(1));
+                    if (!m.group(2).isEmpty()) {
+                        end = Math.min(length - 1, parsePosition(m.group(2))) + 1;
+                    }
+                }
+                if (start >= length || start >= end) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + length);
+            }
+        }
+        response.setContentLengthLong(end - start);
+
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+        if (body != null) {
+            ByteBuffer slice = body.duplicate().limit((int) end).position((int) start);
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            while (slice.hasRemaining()) {
+                out.write(slice);
+            }
+            return;
+        }
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat copies the bytes from the page cache straight to the socket after we return
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position < end) {
+                position += channel.transferTo(position, end - position, out);
+            }
+        }
+    }
+
+    // Digits only (see SINGLE_RANGE); positions past Long.MAX_VALUE lie beyond any file,
+    // so they saturate instead of failing: a huge first byte is then unsatisfiable (416)
+    // and a huge last byte or suffix length covers the rest of the file
+    private static long parsePosition(String digits) {
+        try {
+            return Long.parseLong(digits);
+        } catch (NumberFormatException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.novelly.backend.service.files;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hot uploaded files (mostly covers) held in direct buffers outside the heap,
+ * so repeat requests are answered without touching the disk. Bounded by total
+ * file bytes; a file is only read in after it has been requested admit-after
+ * times, and Caffeine's W-TinyLFU then decides whether it displaces anything.
+ * Keys are absolute normalized paths.
+ */
+@Slf4j
+@Component
+public class HotFileCache {
+
+    // Rough per-entry cost of the key, metadata and buffer object
+    private static final int ENTRY_OVERHEAD_BYTES = 512;
+
+    private final Cache<Path, CachedFile> files;
+
+    // Request counts of files not (yet) cached; one-off requests never get read in
+    private final Cache<Path, AtomicInteger> candidates;
+
+    // Bumped before every invalidation; a read that overlaps one is not kept
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final long maxFileBytes;
+    private final int admitAfter;
+
+    public HotFileCache(@Value("${file.cache.max-bytes:33554432}") long maxBytes,
+                        @Value("${file.cache.max-file-bytes:2097152}") long maxFileBytes,
+                        @Value("${file.cache.admit-after:2}") int admitAfter,
+                        @Value("${file.cache.max-candidates:20000}") long maxCandidates) {
+        this.files = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Path path, CachedFile file) -> file.body().capacity() + ENTRY_OVERHEAD_BYTES)
+                .recordStats()
+                .build();
+        this.candidates = Caffeine.newBuilder()
+                .maximumSize(maxCandidates)
+                .build();
+        this.maxFileBytes = maxFileBytes;
+        this.admitAfter = Math.max(1, admitAfter);
+    }
+
+    public CachedFile get(Path file) {
+        return files.getIfPresent(key(file));
+    }
+
+    /**
+     * Count a request for a file served from disk, and read it in once it has
+     * proven to be requested repeatedly
+     */
+    public void offer(Path file, FileMetadata metadata) {
+        if (metadata.length() > maxFileBytes) {
+            return;
+        }
+        Path key = key(file);
+        AtomicInteger seen = candidates.get(key, k -> new AtomicInteger());
+        if (seen.incrementAndGet() < admitAfter) {
+            return;
+        }
+        candidates.invalidate(key);
+        long startInvalidations = invalidations.get();
+        try {
+            ByteBuffer body = load(key, metadata.length());
+            if (body != null) {
+                files.put(key, new CachedFile(metadata, body));
+                // An invalidation that began after the read started may have missed this
+                // put, so drop it here; one that bumps the counter later removes it itself
+                if (invalidations.get() != startInvalidations) {
+                    files.invalidate(key);
+                }
+            }
+        } catch (IOException e) {
+            log.debug("Could not cache {}: {}", key, e.getMessage());
+        }
+    }
+
+    public void invalidate(Path file) {
+        Path key = key(file);
+        invalidations.incrementAndGet();
+        files.invalidate(key);
+        candidates.invalidate(key);
+    }
+
+    /**
+     * Drop every cached file under a directory, e.g. when a novel's folder is deleted
+     */
+    public void invalidateTree(Path directory) {
+        Path prefix = key(directory);
+        invalidations.incrementAndGet();
+        files.asMap().keySet().removeIf(path -> path.startsWith(prefix));
+        candidates.asMap().keySet().removeIf(path -> path.startsWith(prefix));
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats cacheStats = files.stats();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", files.estimatedSize());
+        stats.put("weightedBytes", files.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L));
+        stats.put("candidates", candidates.estimatedSize());
+        stats.put("hits", cacheStats.hitCount());
+        stats.put("misses", cacheStats.missCount());
+        stats.put("hitRate", cacheStats.hitRate());
+        stats.put("evictions", cacheStats.evictionCount());
+        return stats;
+    }
+
+    // Returns null if the file changed size since its metadata was read
+    private static ByteBuffer load(Path file, long length) throws IOException {
+        ByteBuffer body = ByteBuffer.allocateDirect((int) length);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (body.hasRemaining()) {
+                if (channel.read(body) < 0) {
+                    return null;
+                }
+            }
+            if (channel.size() != length) {
+                return null;
+            }
+        }
+        return body.flip().asReadOnlyBuffer();
+    }
+
+    private static Path key(Path file) {
+        return file.toAbsolutePath().normalize();
+    }
+
+    /**
+     * A cached file; body() is shared, so readers should work on a duplicate
+     */
+    public record CachedFile(FileMetadata metadata, ByteBuffer body) {
+    }
+}
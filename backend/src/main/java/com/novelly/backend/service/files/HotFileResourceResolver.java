@@ -0,0 +1,100 @@
+package com.novelly.backend.service.files;
+
+import com.novelly.backend.util.ByteBufferInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.web.servlet.resource.ResourceResolver;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Resource resolver for the /uploads/** handler that answers from HotFileCache
+ * before the path resolver stats the file, and offers files it served from disk.
+ */
+public class HotFileResourceResolver implements ResourceResolver {
+
+    private final Path root;
+    private final HotFileCache hotFileCache;
+
+    public HotFileResourceResolver(Path root, HotFileCache hotFileCache) {
+        this.root = root.toAbsolutePath().normalize();
+        this.hotFileCache = hotFileCache;
+    }
+
+    @Override
+    public Resource resolveResource(HttpServletRequest request, String requestPath,
+                                    List<? extends Resource> locations, ResourceResolverChain chain) {
+        try {
+            Path file = root.resolve(requestPath).normalize();
+            if (file.startsWith(root)) {
+                HotFileCache.CachedFile cached = hotFileCache.get(file);
+                if (cached != null) {
+                    return new CachedFileResource(cached);
+                }
+            }
+        } catch (InvalidPathException ignored) {
+            // Left to the path resolver to reject
+        }
+
+        Resource resource = chain.resolveResource(request, requestPath, locations);
+        if (resource != null && resource.isFile()) {
+            try {
+                Path resolved = resource.getFile().toPath();
+                hotFileCache.offer(resolved, FileMetadata.read(resolved));
+            } catch (IOException ignored) {
+                // Served from disk as usual
+            }
+        }
+        return resource;
+    }
+
+    @Override
+    public String resolveUrlPath(String resourcePath, List<? extends Resource> locations, ResourceResolverChain chain) {
+        return chain.resolveUrlPath(resourcePath, locations);
+    }
+
+    private static class CachedFileResource extends AbstractResource {
+
+        private final HotFileCache.CachedFile cached;
+
+        CachedFileResource(HotFileCache.CachedFile cached) {
+            this.cached = cached;
+        }
+
+        @Override
+        public boolean exists() {
+            return true;
+        }
+
+        @Override
+        public String getFilename() {
+            return cached.metadata().filename();
+        }
+
+        @Override
+        public long contentLength() {
+            return cached.metadata().length();
+        }
+
+        @Override
+        public long lastModified() {
+            return cached.metadata().lastModified();
+        }
+
+        @Override
+        public String getDescription() {
+            return "cached file [" + cached.metadata().filename() + "]";
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return new ByteBufferInputStream(cached.body().duplicate());
+        }
+    }
+}
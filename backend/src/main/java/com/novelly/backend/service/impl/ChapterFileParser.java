@@ -0,0 +1,338 @@
+package com.novelly.backend.service.impl;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Splits bulk-import files into chapters. Chapters are handed to the consumer
+ * one at a time as soon as they are complete, so a whole book is never held
+ * in memory.
+ */
+final class ChapterFileParser {
+
+    // "Chapter 12: Title", "Chương 12 - Title", "Ch. 12 Title"
+    private static final Pattern CHAPTER_HEADING = Pattern.compile(
+            "^\\s*(?:chapter|chương|chuong|ch\\.)\\s*(\\d{1,6})\\s*[:.\\-–—]?\\s*(.*)$",
+            Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+
+    private static final Pattern HTML_TITLE = Pattern.compile(
+            "<(?:h1|h2|title)[^>]*>(.*?)</(?:h1|h2|title)>", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern HTML_HEAD = Pattern.compile("<head.*?</head>", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern HTML_BLOCK_END = Pattern.compile(
+            "</(?:p|div|h[1-6]|li)>|<br\\s*/?>", Pattern.CASE_INSENSITIVE);
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]+>");
+    private static final Pattern BLANK_LINES = Pattern.compile("\\n{3,}");
+
+    // Spine items shorter than this (cover, title page, TOC) are not chapters
+    private static final int MIN_CHAPTER_LENGTH = 100;
+
+    // Longer lines are prose that happens to start with "Chapter 12", not headings
+    private static final int MAX_HEADING_LENGTH = 100;
+    // chapters.title is VARCHAR(255)
+    static final int MAX_TITLE_LENGTH = 255;
+    // Upper bound on the decompressed size of any one archive entry, and on one chapter's text
+    static final long DEFAULT_MAX_ENTRY_BYTES = 32L * 1024 * 1024;
+
+    record ParsedChapter(int chapterNumber, String title, String content) {
+    }
+
+    private final Consumer<ParsedChapter> sink;
+    private final long maxEntryBytes;
+    private int nextNumber;
+
+    /**
+     * @param firstUnnumbered number given to the first chapter that has no number in the source
+     */
+    ChapterFileParser(int firstUnnumbered, Consumer<ParsedChapter> sink) {
+        this(firstUnnumbered, DEFAULT_MAX_ENTRY_BYTES, sink);
+    }
+
+    ChapterFileParser(int firstUnnumbered, long maxEntryBytes, Consumer<ParsedChapter> sink) {
+        this.nextNumber = firstUnnumbered;
+        this.maxEntryBytes = maxEntryBytes;
+        this.sink = sink;
+    }
+
+    void parse(Path file, String fileName) throws IOException {
+        String lower = fileName == null ? "" : fileName.toLowerCase();
+        if (lower.endsWith(".epub")) {
+            parseEpub(file);
+        } else if (lower.endsWith(".zip")) {
+            parseZip(file);
+        } else if (lower.endsWith(".txt")) {
+            try (InputStream in = Files.newInputStream(file)) {
+                parseText(in, null);
+            }
+        } else {
+            throw new IllegalArgumentException("Unsupported import file type, expected .txt, .epub or .zip: " + fileName);
+        }
+    }
+
+    /**
+     * Plain text with "Chapter N" heading lines: short lines at the start of the
+     * text or after a blank line. Text before the first heading (a prologue or
+     * preface) opens the first chapter. Text without any heading becomes a
+     * single chapter titled {@code fallbackTitle}.
+     */
+    void parseText(InputStream in, String fallbackTitle) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        Integer number = null;
+        String title = null;
+        StringBuilder body = new StringBuilder();
+        boolean sawHeading = false;
+        boolean previousBlank = true;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            Matcher heading = CHAPTER_HEADING.matcher(line);
+            if (previousBlank && line.length() <= MAX_HEADING_LENGTH && heading.matches()) {
+                if (sawHeading) {
+                    emit(number, title, body);
+                    body.setLength(0);
+                }
+                // Before the first heading, body holds the prologue; it stays at the top of this chapter
+                sawHeading = true;
+                number = Integer.parseInt(heading.group(1));
+                title = heading.group(2).isBlank() ? null : heading.group(2).trim();
+            } else {
+                body.append(line).append('\n');
+                if (body.length() > maxEntryBytes) {
+                    throw new IOException("Chapter text exceeds " + maxEntryBytes + " characters");
+                }
+            }
+            previousBlank = line.isBlank();
+        }
+
+        if (sawHeading) {
+            emit(number, title, body);
+        } else if (!body.toString().isBlank()) {
+            emit(null, fallbackTitle, body);
+        }
+    }
+
+    /**
+     * ZIP of text files, read in file-name order
+     */
+    private void parseZip(Path file) throws IOException {
+        try (ZipFile zip = new ZipFile(file.toFile(), StandardCharsets.UTF_8)) {
+            List<ZipEntry> entries = new ArrayList<>();
+            zip.stream()
+                    .filter(e -> !e.isDirectory() && e.getName().toLowerCase().endsWith(".txt"))
+                    .forEach(entries::add);
+            entries.sort(Comparator.comparing(ZipEntry::getName, ChapterFileParser::compareNatural));
+
+            for (ZipEntry entry : entries) {
+                try (InputStream in = bounded(zip.getInputStream(entry), entry.getName())) {
+                    parseText(in, baseName(entry.getName()));
+                }
+            }
+        }
+    }
+
+    /**
+     * EPUB: one chapter per spine document, in reading order
+     */
+    private void parseEpub(Path file) throws IOException {
+        try (ZipFile zip = new ZipFile(file.toFile(), StandardCharsets.UTF_8)) {
+            Document container = readXml(zip, "META-INF/container.xml");
+            Element rootFile = (Element) container.getElementsByTagNameNS("*", "rootfile").item(0);
+            if (rootFile == null) {
+                throw new IOException("EPUB has no rootfile in META-INF/container.xml");
+            }
+            String opfPath = rootFile.getAttribute("full-path");
+            String opfDir = opfPath.contains("/") ? opfPath.substring(0, opfPath.lastIndexOf('/') + 1) : "";
+            Document opf = readXml(zip, opfPath);
+
+            Map<String, String> hrefById = new HashMap<>();
+            NodeList items = opf.getElementsByTagNameNS("*", "item");
+            for (int i = 0; i < items.getLength(); i++) {
+                Element item = (Element) items.item(i);
+                hrefById.put(item.getAttribute("id"), item.getAttribute("href"));
+            }
+
+            NodeList spine = opf.getElementsByTagNameNS("*", "itemref");
+            for (int i = 0; i < spine.getLength(); i++) {
+                String href = hrefById.get(((Element) spine.item(i)).getAttribute("idref"));
+                if (href == null) {
+                    continue;
+                }
+                ZipEntry entry = zip.getEntry(opfDir + URLDecoder.decode(href, StandardCharsets.UTF_8));
+                if (entry == null) {
+                    continue;
+                }
+                String html;
+                try (InputStream in = bounded(zip.getInputStream(entry), entry.getName())) {
+                    html = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                }
+                String text = htmlToText(html);
+                if (text.length() < MIN_CHAPTER_LENGTH) {
+                    continue;
+                }
+                Matcher titleMatch = HTML_TITLE.matcher(html);
+                String title = titleMatch.find() ? htmlToText(titleMatch.group(1)) : null;
+                emit(null, title, new StringBuilder(text));
+            }
+        }
+    }
+
+    private void emit(Integer number, String title, StringBuilder body) {
+        String content = body.toString().strip();
+        if (content.isEmpty()) {
+            return;
+        }
+        int chapterNumber = number != null ? number : nextNumber;
+        nextNumber = Math.max(nextNumber, chapterNumber + 1);
+        sink.accept(new ParsedChapter(chapterNumber, truncateTitle(title), content));
+    }
+
+    static String truncateTitle(String title) {
+        if (title == null) {
+            return null;
+        }
+        String stripped = title.strip();
+        if (stripped.isEmpty()) {
+            return null;
+        }
+        if (stripped.length() <= MAX_TITLE_LENGTH) {
+            return stripped;
+        }
+        // Do not cut a surrogate pair in half
+        int end = MAX_TITLE_LENGTH;
+        if (Character.isHighSurrogate(stripped.charAt(end - 1))) {
+            end--;
+        }
+        return stripped.substring(0, end);
+    }
+
+    // Archive entries are read through this so a zip bomb fails instead of filling the heap
+    private InputStream bounded(InputStream in, String name) {
+        return new InputStream() {
+            private long remaining = maxEntryBytes;
+
+            @Override
+            public int read() throws IOException {
+                int b = in.read();
+                if (b >= 0) {
+                    consume(1);
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buffer, int off, int len) throws IOException {
+                int n = in.read(buffer, off, len);
+                if (n > 0) {
+                    consume(n);
+                }
+                return n;
+            }
+
+            @Override
+            public void close() throws IOException {
+                in.close();
+            }
+
+            private void consume(int n) throws IOException {
+                remaining -= n;
+                if (remaining < 0) {
+                    throw new IOException("Archive entry " + name + " is larger than " + maxEntryBytes + " bytes");
+                }
+            }
+        };
+    }
+
+    private Document readXml(ZipFile zip, String name) throws IOException {
+        ZipEntry entry = zip.getEntry(name);
+        if (entry == null) {
+            throw new IOException("EPUB is missing " + name);
+        }
+        try (InputStream in = bounded(zip.getInputStream(entry), name)) {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(true);
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+            factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+            factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+            DocumentBuilder builder = factory.newDocumentBuilder();
+            return builder.parse(in);
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IOException("Invalid EPUB metadata in " + name, e);
+        }
+    }
+
+    private static String htmlToText(String html) {
+        String text = HTML_HEAD.matcher(html).replaceAll("");
+        text = HTML_BLOCK_END.matcher(text).replaceAll("\n");
+        text = HTML_TAG.matcher(text).replaceAll("");
+        text = text.replace("&nbsp;", " ")
+                .replace("&lt;", "<")
+                .replace("&gt;", ">")
+                .replace("&quot;", "\"")
+                .replace("&#39;", "'")
+                .replace("&apos;", "'")
+                .replace("&amp;", "&");
+        text = text.lines().map(String::strip).collect(Collectors.joining("\n"));
+        return BLANK_LINES.matcher(text).replaceAll("\n\n").strip();
+    }
+
+    private static String baseName(String path) {
+        String name = path.substring(path.lastIndexOf('/') + 1);
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+
+    // "chapter2.txt" sorts before "chapter10.txt"
+    private static int compareNatural(String a, String b) {
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+            char ca = a.charAt(i);
+            char cb = b.charAt(j);
+            if (Character.isDigit(ca) && Character.isDigit(cb)) {
+                int si = i;
+                int sj = j;
+                while (i < a.length() && Character.isDigit(a.charAt(i))) i++;
+                while (j < b.length() && Character.isDigit(b.charAt(j))) j++;
+                String na = a.substring(si, i).replaceFirst("^0+(?=.)", "");
+                String nb = b.substring(sj, j).replaceFirst("^0+(?=.)", "");
+                int cmp = na.length() != nb.length() ? Integer.compare(na.length(), nb.length()) : na.compareTo(nb);
+                if (cmp != 0) {
+                    return cmp;
+                }
+            } else {
+                if (ca != cb) {
+                    return Character.compare(ca, cb);
+                }
+                i++;
+                j++;
+            }
+        }
+        return Integer.compare(a.length() - i, b.length() - j);
+    }
+}
@@ -0,0 +1,223 @@
+package com.novelly.backend.service.impl;
+
+import com.novelly.backend.dto.ChapterImportStatusDto;
+import com.novelly.backend.dto.ChapterImportStatusDto.Status;
+import com.novelly.backend.repository.ChapterRepository;
+import com.novelly.backend.repository.NovelRepository;
+import com.novelly.backend.service.ChapterContentStore;
+import com.novelly.backend.service.ChapterImportService;
+import com.novelly.backend.util.ChapterContentCodec;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Service
+public class ChapterImportServiceImpl implements ChapterImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChapterImportServiceImpl.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO chapters (novel_id, chapter_number, title, content_codec, content_segment, content_offset, " +
+            "content_size, content_length, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Finished jobs are kept this long for status polling
+    private static final long FINISHED_JOB_RETENTION_MINUTES = 60;
+
+    private final ChapterRepository chapterRepository;
+    private final NovelRepository novelRepository;
+    private final ChapterContentStore contentStore;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    private final Map<String, ChapterImportStatusDto> jobs = new ConcurrentHashMap<>();
+    // Imports run one at a time so they cannot starve reader traffic of connections
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "chapter-import");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ChapterImportServiceImpl(ChapterRepository chapterRepository,
+                                    NovelRepository novelRepository,
+                                    ChapterContentStore contentStore,
+                                    JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${chapter.import.batch-size:500}") int batchSize) {
+        this.chapterRepository = chapterRepository;
+        this.novelRepository = novelRepository;
+        this.contentStore = contentStore;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public ChapterImportStatusDto startImport(Integer novelId, MultipartFile file) {
+        if (!novelRepository.existsById(novelId)) {
+            throw new RuntimeException("Novel not found with ID: " + novelId);
+        }
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("Import file is empty");
+        }
+        pruneFinishedJobs();
+
+        // The multipart temp file is gone once the request ends, so keep our own copy
+        Path upload;
+        try {
+            upload = Files.createTempFile("chapter-import-", ".upload");
+            try (InputStream in = file.getInputStream()) {
+                Files.copy(in, upload, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to buffer import file", e);
+        }
+
+        ChapterImportStatusDto job = ChapterImportStatusDto.builder()
+                .jobId(UUID.randomUUID().toString())
+                .novelId(novelId)
+                .fileName(file.getOriginalFilename())
+                .status(Status.QUEUED)
+                .build();
+        jobs.put(job.getJobId(), job);
+        executor.submit(() -> runImport(job, upload));
+        return snapshot(job);
+    }
+
+    @Override
+    public Optional<ChapterImportStatusDto> getStatus(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(this::snapshot);
+    }
+
+    private void runImport(ChapterImportStatusDto job, Path upload) {
+        synchronized (job) {
+            job.setStatus(Status.RUNNING);
+            job.setStartedAt(LocalDateTime.now());
+        }
+        try {
+            transactionTemplate.executeWithoutResult(tx -> importChapters(job, upload));
+            synchronized (job) {
+                job.setStatus(Status.COMPLETED);
+            }
+            log.info("Imported {} chapters into novel {} from {} ({} skipped)",
+                    job.getChaptersInserted(), job.getNovelId(), job.getFileName(), job.getChaptersSkipped());
+        } catch (Exception e) {
+            log.warn("Chapter import {} failed", job.getJobId(), e);
+            synchronized (job) {
+                job.setStatus(Status.FAILED);
+                // Nothing was committed, so nothing counts as inserted
+                job.setChaptersInserted(0);
+                job.setError(e.getMessage());
+            }
+        } finally {
+            synchronized (job) {
+                job.setFinishedAt(LocalDateTime.now());
+            }
+            try {
+                Files.deleteIfExists(upload);
+            } catch (IOException e) {
+                log.warn("Could not delete import temp file {}", upload);
+            }
+        }
+    }
+
+    private void importChapters(ChapterImportStatusDto job, Path upload) {
+        Integer novelId = job.getNovelId();
+        Set<Integer> taken = new HashSet<>(chapterRepository.findChapterNumbersByNovelId(novelId));
+        int firstUnnumbered = taken.stream().mapToInt(Integer::intValue).max().orElse(0) + 1;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>(batchSize);
+
+        ChapterFileParser parser = new ChapterFileParser(firstUnnumbered, chapter -> {
+            synchronized (job) {
+                job.setChaptersParsed(job.getChaptersParsed() + 1);
+            }
+            if (!taken.add(chapter.chapterNumber())) {
+                synchronized (job) {
+                    job.setChaptersSkipped(job.getChaptersSkipped() + 1);
+                }
+                return;
+            }
+            ChapterContentStore.Location location = contentStore.append(ChapterContentCodec.compress(chapter.content()));
+            batch.add(new Object[]{
+                    novelId,
+                    chapter.chapterNumber(),
+                    chapter.title(),
+                    ChapterContentCodec.GZIP,
+                    location.segment(),
+                    location.offset(),
+                    location.length(),
+                    chapter.content().length(),
+                    now
+            });
+            if (batch.size() >= batchSize) {
+                flush(job, batch);
+            }
+        });
+
+        try {
+            parser.parse(upload, job.getFileName());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read import file: " + e.getMessage(), e);
+        }
+        flush(job, batch);
+    }
+
+    private void flush(ChapterImportStatusDto job, List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        // Chapter bytes must be on disk before the rows that point at them
+        contentStore.flush();
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        synchronized (job) {
+            job.setChaptersInserted(job.getChaptersInserted() + batch.size());
+        }
+        batch.clear();
+    }
+
+    private ChapterImportStatusDto snapshot(ChapterImportStatusDto job) {
+        synchronized (job) {
+            return job.toBuilder().build();
+        }
+    }
+
+    private void pruneFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(FINISHED_JOB_RETENTION_MINUTES);
+        jobs.values().removeIf(job -> {
+            synchronized (job) {
+                return job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,92 @@
+package com.novelly.backend.service.impl;
+
+import com.novelly.backend.repository.ChapterRepository;
+import com.novelly.backend.service.ChapterContentStore;
+import com.novelly.backend.service.ChapterContentStore.Location;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reclaims space left in sealed pack segments by updated or deleted chapters.
+ * Live chapters are copied to the active segment and their rows repointed;
+ * the old segment is deleted on the following run, once no in-flight read
+ * can still be using a location loaded before the move.
+ */
+@Component
+public class ChapterPackCompactor {
+
+    private static final Logger log = LoggerFactory.getLogger(ChapterPackCompactor.class);
+
+    private final ChapterContentStore contentStore;
+    private final ChapterRepository chapterRepository;
+    private final double minLiveRatio;
+
+    private final Set<Integer> retiredSegments = ConcurrentHashMap.newKeySet();
+
+    public ChapterPackCompactor(ChapterContentStore contentStore,
+                                ChapterRepository chapterRepository,
+                                @Value("${chapter.pack.compaction-live-ratio:0.5}") double minLiveRatio) {
+        this.contentStore = contentStore;
+        this.chapterRepository = chapterRepository;
+        this.minLiveRatio = minLiveRatio;
+    }
+
+    @Scheduled(fixedDelayString = "${chapter.pack.compaction-interval-ms:3600000}",
+               initialDelayString = "${chapter.pack.compaction-interval-ms:3600000}")
+    public void compact() {
+        for (Integer segment : retiredSegments) {
+            contentStore.deleteSegment(segment);
+            retiredSegments.remove(segment);
+        }
+
+        Map<Integer, Long> liveBytes = new HashMap<>();
+        for (Object[] row : chapterRepository.sumContentSizeBySegment()) {
+            liveBytes.put((Integer) row[0], ((Number) row[1]).longValue());
+        }
+
+        for (Map.Entry<Integer, Long> segment : contentStore.getSealedSegments().entrySet()) {
+            long live = liveBytes.getOrDefault(segment.getKey(), 0L);
+            if (live >= segment.getValue() * minLiveRatio) {
+                continue;
+            }
+            int moved = relocate(segment.getKey());
+            retiredSegments.add(segment.getKey());
+            log.info("Compacted chapter pack segment {}: moved {} chapters, reclaiming {} bytes",
+                    segment.getKey(), moved, segment.getValue() - live);
+        }
+    }
+
+    private int relocate(int segment) {
+        List<Object[]> entries = chapterRepository.findContentLocationsBySegment(segment);
+        List<Location> targets = new ArrayList<>(entries.size());
+        for (Object[] entry : entries) {
+            ByteBuffer data = contentStore.read(new Location(segment, (Long) entry[1], (Integer) entry[2]));
+            byte[] copy = new byte[data.remaining()];
+            data.get(copy);
+            targets.add(contentStore.append(copy));
+        }
+        // Bytes must be durable before any row points at them
+        contentStore.flush();
+
+        int moved = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            Object[] entry = entries.get(i);
+            Location target = targets.get(i);
+            // Conditional, so a chapter rewritten meanwhile keeps its newer location
+            moved += chapterRepository.relocateContent((Integer) entry[0], segment, (Long) entry[1],
+                    target.segment(), target.offset());
+        }
+        return moved;
+    }
+}
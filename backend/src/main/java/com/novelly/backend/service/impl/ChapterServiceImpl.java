@@ -1,15 +1,31 @@
 package com.novelly.backend.service.impl;
 
+import com.novelly.backend.dto.ChapterContent;
 import com.novelly.backend.dto.ChapterDto;
+import com.novelly.backend.dto.ChapterSummaryDto;
+import com.novelly.backend.dto.CursorPageDto;
+import com.novelly.backend.dto.ReaderBundleDto;
+import com.novelly.backend.dto.ReadingProgressDto;
 import com.novelly.backend.entity.Chapter;
 import com.novelly.backend.entity.Novel;
 import com.novelly.backend.repository.ChapterRepository;
+import com.novelly.backend.repository.LibraryRepository;
 import com.novelly.backend.repository.NovelRepository;
+import com.novelly.backend.repository.ReadingProgressRepository;
+import com.novelly.backend.service.ChapterContentStore;
 import com.novelly.backend.service.ChapterService;
+import com.novelly.backend.service.cache.ChapterCache;
+import com.novelly.backend.service.cache.SingleFlight;
+import com.novelly.backend.util.ChapterContentCodec;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -18,32 +34,127 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ChapterServiceImpl implements ChapterService {
 
+    private static final int MAX_TOC_PAGE_SIZE = 500;
+
     private final ChapterRepository chapterRepository;
     private final NovelRepository novelRepository;
+    private final ReadingProgressRepository progressRepository;
+    private final LibraryRepository libraryRepository;
+    private final ChapterContentStore contentStore;
+    private final ChapterCache chapterCache;
+    private final SingleFlight<String, ChapterDto> chapterLoads;
 
     @Override
     @Transactional(readOnly = true)
     public List<ChapterDto> getChaptersByNovelId(Integer novelId) {
-        List<Chapter> chapters = chapterRepository.findByNovel_NovelIdOrderByChapterNumberAsc(novelId);
-        return chapters.stream()
-                .map(this::convertToDto)
+        // Projection query: chapter bodies are never read, let alone decompressed
+        return chapterRepository.findToc(novelId).stream()
+                .map(summary -> ChapterDto.builder()
+                        .chapterId(summary.getChapterId())
+                        .novelId(novelId)
+                        .chapterNumber(summary.getChapterNumber())
+                        .title(summary.getTitle())
+                        .createdAt(summary.getCreatedAt())
+                        .build())
                 .collect(Collectors.toList());
     }
 
     @Override
     @Transactional(readOnly = true)
+    public CursorPageDto<ChapterSummaryDto> getChapterToc(Integer novelId, Integer afterChapterNumber, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_TOC_PAGE_SIZE));
+        int after = afterChapterNumber != null ? afterChapterNumber : Integer.MIN_VALUE;
+
+        // Fetch one extra row to know whether another page exists
+        List<ChapterSummaryDto> rows = chapterRepository.findTocAfter(novelId, after, PageRequest.of(0, pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        List<ChapterSummaryDto> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? String.valueOf(items.get(items.size() - 1).getChapterNumber()) : null;
+
+        return CursorPageDto.<ChapterSummaryDto>builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    // Not @Transactional: a cache hit must not check out a connection
+    @Override
     public ChapterDto getChapterByNovelIdAndNumber(Integer novelId, Integer chapterNumber) {
-        Chapter chapter = chapterRepository.findByNovel_NovelIdAndChapterNumber(novelId, chapterNumber)
-                .orElseThrow(() -> new RuntimeException("Chapter not found: Novel ID " + novelId + ", Chapter " + chapterNumber));
-        return convertToDto(chapter);
+        ChapterDto cached = chapterCache.getByNumber(novelId, chapterNumber);
+        if (cached != null) {
+            return cached;
+        }
+        // Readers arriving together on a fresh chapter share a single query
+        return ChapterCache.copyOf(chapterLoads.load("number:" + novelId + ":" + chapterNumber, () -> {
+            long generation = chapterCache.generation();
+            Chapter chapter = chapterRepository.findByNovel_NovelIdAndChapterNumber(novelId, chapterNumber)
+                    .orElseThrow(() -> new RuntimeException("Chapter not found: Novel ID " + novelId + ", Chapter " + chapterNumber));
+            ChapterDto dto = convertToDto(chapter);
+            chapterCache.put(dto, generation);
+            return dto;
+        }));
     }
 
+    // Not @Transactional: a cache hit must not check out a connection
     @Override
-    @Transactional(readOnly = true)
     public ChapterDto getChapterById(Integer chapterId) {
+        ChapterDto cached = chapterCache.getById(chapterId);
+        if (cached != null) {
+            return cached;
+        }
+        return ChapterCache.copyOf(chapterLoads.load("id:" + chapterId, () -> {
+            long generation = chapterCache.generation();
+            Chapter chapter = chapterRepository.findById(chapterId)
+                    .orElseThrow(() -> new RuntimeException("Chapter not found with ID: " + chapterId));
+            ChapterDto dto = convertToDto(chapter);
+            chapterCache.put(dto, generation);
+            return dto;
+        }));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ChapterContent getChapterContent(Integer chapterId) {
         Chapter chapter = chapterRepository.findById(chapterId)
                 .orElseThrow(() -> new RuntimeException("Chapter not found with ID: " + chapterId));
-        return convertToDto(chapter);
+        if (chapter.getContentSegment() != null) {
+            return new ChapterContent(contentStore.read(locationOf(chapter)), chapter.getContentCodec());
+        }
+        if (chapter.getContentCompressed() != null) {
+            return new ChapterContent(ByteBuffer.wrap(chapter.getContentCompressed()), chapter.getContentCodec());
+        }
+        String content = chapter.getContent() != null ? chapter.getContent() : "";
+        return new ChapterContent(ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8)), null);
+    }
+
+    @Override
+    public ReaderBundleDto getReaderBundle(Integer chapterId, Integer userId) {
+        ChapterDto chapter = getChapterById(chapterId);
+        Integer novelId = chapter.getNovelId();
+        Integer number = chapter.getChapterNumber();
+
+        // Neighbours come from the (novel_id, chapter_number) index, without content
+        PageRequest first = PageRequest.of(0, 1);
+        ChapterSummaryDto previous = chapterRepository.findTocBefore(novelId, number, first).stream()
+                .findFirst().orElse(null);
+        ChapterSummaryDto next = chapterRepository.findTocAfter(novelId, number, first).stream()
+                .findFirst().orElse(null);
+
+        ReadingProgressDto progress = null;
+        boolean inLibrary = false;
+        if (userId != null) {
+            progress = progressRepository.findDtoByUserIdAndNovelId(userId, novelId).orElse(null);
+            inLibrary = libraryRepository.existsByUserUserIdAndNovelNovelId(userId, novelId);
+        }
+
+        return ReaderBundleDto.builder()
+                .chapter(chapter)
+                .previous(previous)
+                .next(next)
+                .progress(progress)
+                .inLibrary(inLibrary)
+                .build();
     }
 
     @Override
@@ -63,7 +174,7 @@ public class ChapterServiceImpl implements ChapterService {
         chapter.setNovel(novel);
         chapter.setChapterNumber(chapterDto.getChapterNumber());
         chapter.setTitle(chapterDto.getTitle());
-        chapter.setContent(chapterDto.getContent());
+        writeContent(chapter, chapterDto.getContent());
         chapter.setCreatedAt(LocalDateTime.now());
 
         // Save chapter
@@ -75,15 +186,17 @@ public class ChapterServiceImpl implements ChapterService {
     @Override
     @Transactional
     public ChapterDto updateChapter(Integer chapterId, ChapterDto chapterDto) {
-        Chapter chapter = chapterRepository.findById(chapterId)
+        // Locked: the whole row is written back on save, including the pack location
+        Chapter chapter = chapterRepository.findForUpdate(chapterId)
                 .orElseThrow(() -> new RuntimeException("Chapter not found with ID: " + chapterId));
+        evictFromCache(chapterId, chapter.getNovel().getNovelId(), chapter.getChapterNumber());
 
         // Update fields
         if (chapterDto.getTitle() != null) {
             chapter.setTitle(chapterDto.getTitle());
         }
         if (chapterDto.getContent() != null) {
-            chapter.setContent(chapterDto.getContent());
+            writeContent(chapter, chapterDto.getContent());
         }
         if (chapterDto.getChapterNumber() != null) {
             // Check if new chapter number conflicts with existing chapters
@@ -103,10 +216,62 @@ public class ChapterServiceImpl implements ChapterService {
     @Override
     @Transactional
     public void deleteChapter(Integer chapterId) {
-        if (!chapterRepository.existsById(chapterId)) {
-            throw new RuntimeException("Chapter not found with ID: " + chapterId);
+        Chapter chapter = chapterRepository.findById(chapterId)
+                .orElseThrow(() -> new RuntimeException("Chapter not found with ID: " + chapterId));
+        evictFromCache(chapterId, chapter.getNovel().getNovelId(), chapter.getChapterNumber());
+        chapterRepository.delete(chapter);
+    }
+
+    /**
+     * Drop a chapter from the cache now and again once the transaction commits.
+     * Each eviction bumps the cache generation, so a reader that loaded the old
+     * row before the commit cannot put it back afterwards.
+     */
+    private void evictFromCache(Integer chapterId, Integer novelId, Integer chapterNumber) {
+        chapterCache.evict(chapterId, novelId, chapterNumber);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    chapterCache.evict(chapterId, novelId, chapterNumber);
+                }
+            });
         }
-        chapterRepository.deleteById(chapterId);
+    }
+
+    /**
+     * Append the compressed chapter body to the pack store and point the row
+     * at it, clearing any copy held in the database. Bytes left behind by a
+     * previous version are reclaimed by ChapterPackCompactor.
+     */
+    private void writeContent(Chapter chapter, String content) {
+        ChapterContentStore.Location location = contentStore.append(ChapterContentCodec.compress(content));
+        contentStore.flush();
+        chapter.setContent(null);
+        chapter.setContentCompressed(null);
+        chapter.setContentCodec(ChapterContentCodec.GZIP);
+        chapter.setContentSegment(location.segment());
+        chapter.setContentOffset(location.offset());
+        chapter.setContentSize(location.length());
+        chapter.setContentLength(content.length());
+    }
+
+    /**
+     * Read the chapter body as text, whichever form it is stored in
+     */
+    private String readContent(Chapter chapter) {
+        if (chapter.getContentSegment() != null) {
+            return ChapterContentCodec.decompress(contentStore.read(locationOf(chapter)), chapter.getContentCodec());
+        }
+        if (chapter.getContentCompressed() != null) {
+            return ChapterContentCodec.decompress(chapter.getContentCompressed(), chapter.getContentCodec());
+        }
+        return chapter.getContent();
+    }
+
+    private ChapterContentStore.Location locationOf(Chapter chapter) {
+        return new ChapterContentStore.Location(
+                chapter.getContentSegment(), chapter.getContentOffset(), chapter.getContentSize());
     }
 
     /**
@@ -118,7 +283,7 @@ public class ChapterServiceImpl implements ChapterService {
         dto.setNovelId(chapter.getNovel().getNovelId());
         dto.setChapterNumber(chapter.getChapterNumber());
         dto.setTitle(chapter.getTitle());
-        dto.setContent(chapter.getContent());
+        dto.setContent(readContent(chapter));
         dto.setCreatedAt(chapter.getCreatedAt());
         return dto;
     }
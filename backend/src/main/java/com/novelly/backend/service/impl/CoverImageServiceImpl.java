@@ -0,0 +1,261 @@
+package com.novelly.backend.service.impl;
+
+import com.novelly.backend.entity.Novel;
+import com.novelly.backend.repository.NovelRepository;
+import com.novelly.backend.service.CoverImageService;
+import com.novelly.backend.service.FileStorageService;
+import com.novelly.backend.service.exception.FileStorageException;
+import com.novelly.backend.service.exception.ImageTooLargeException;
+import com.novelly.backend.service.files.HotFileCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+public class CoverImageServiceImpl implements CoverImageService {
+
+    private static final Logger log = LoggerFactory.getLogger(CoverImageServiceImpl.class);
+
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private final FileStorageService fileStorageService;
+    private final NovelRepository novelRepository;
+    private final HotFileCache hotFileCache;
+    private final int backfillParallelism;
+    private final long maxSourcePixels;
+
+    public CoverImageServiceImpl(FileStorageService fileStorageService,
+                                 NovelRepository novelRepository,
+                                 HotFileCache hotFileCache,
+                                 @Value("${cover.backfill-parallelism:0}") int backfillParallelism,
+                                 @Value("${cover.max-source-pixels:40000000}") long maxSourcePixels) {
+        this.fileStorageService = fileStorageService;
+        this.novelRepository = novelRepository;
+        this.hotFileCache = hotFileCache;
+        // Each decode can hold a full-resolution raster, so default to a few workers
+        this.backfillParallelism = backfillParallelism > 0
+                ? backfillParallelism
+                : Math.min(4, Runtime.getRuntime().availableProcessors());
+        this.maxSourcePixels = maxSourcePixels;
+    }
+
+    @Override
+    public Map<CoverSize, String> generateVariants(String originalPath) {
+        Path root = fileStorageService.getRootLocation();
+        Path original = root.resolve(originalPath).normalize();
+        if (!original.startsWith(root)) {
+            throw new FileStorageException("Cover path outside storage location: " + originalPath);
+        }
+
+        BufferedImage source;
+        try {
+            source = readBounded(original, originalPath);
+        } catch (IOException e) {
+            throw new FileStorageException("Failed to read cover " + originalPath, e);
+        }
+        if (source == null) {
+            log.warn("Cover {} is not in a format ImageIO can decode; serving the original only", originalPath);
+            return Collections.emptyMap();
+        }
+
+        Map<CoverSize, String> variants = new EnumMap<>(CoverSize.class);
+        BufferedImage current = toRgb(source);
+        // Largest first, so each size is scaled down from the previous one
+        CoverSize[] sizes = CoverSize.values();
+        for (int i = sizes.length - 1; i >= 0; i--) {
+            CoverSize size = sizes[i];
+            current = scaleToWidth(current, size.getMaxWidth());
+            String variantPath = variantPath(originalPath, size);
+            writeJpeg(current, root.resolve(variantPath));
+            variants.put(size, variantPath);
+        }
+        return variants;
+    }
+
+    @Override
+    public String resolveVariant(String originalPath, CoverSize size) {
+        String variantPath = variantPath(originalPath, size);
+        Path variant = fileStorageService.getRootLocation().resolve(variantPath).normalize();
+        // A cached variant exists without asking the filesystem
+        if (hotFileCache.get(variant) != null || Files.isRegularFile(variant)) {
+            return variantPath;
+        }
+        return originalPath;
+    }
+
+    @Override
+    public Map<String, Integer> backfillMissingVariants() {
+        List<Novel> novels = novelRepository.findByCoverImageIsNotNullAndCoverThumbnailIsNull();
+        AtomicInteger processed = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+
+        ForkJoinPool pool = new ForkJoinPool(backfillParallelism);
+        try {
+            pool.submit(() -> novels.parallelStream().forEach(novel -> {
+                try {
+                    Map<CoverSize, String> variants = generateVariants(novel.getCoverImage());
+                    if (variants.isEmpty()) {
+                        failed.incrementAndGet();
+                        return;
+                    }
+                    novelRepository.updateCoverVariants(novel.getNovelId(), variants.get(CoverSize.THUMB),
+                            variants.get(CoverSize.CARD), variants.get(CoverSize.FULL));
+                    processed.incrementAndGet();
+                } catch (RuntimeException e) {
+                    log.warn("Cover backfill failed for novel {}: {}", novel.getNovelId(), e.getMessage());
+                    failed.incrementAndGet();
+                }
+            })).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FileStorageException("Cover backfill interrupted", e);
+        } catch (ExecutionException e) {
+            throw new FileStorageException("Cover backfill failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+
+        Map<String, Integer> result = new LinkedHashMap<>();
+        result.put("candidates", novels.size());
+        result.put("processed", processed.get());
+        result.put("failed", failed.get());
+        log.info("Cover backfill finished: {}", result);
+        return result;
+    }
+
+    /**
+     * Decode an image only after checking the dimensions in its header, which a
+     * small file can set to billions of pixels. Sources much wider than the
+     * largest variant are subsampled while decoding, so the full-resolution
+     * raster is never allocated. Returns null if no ImageIO reader handles the format.
+     */
+    private BufferedImage readBounded(Path file, String originalPath) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxSourcePixels) {
+                    throw new ImageTooLargeException("Cover " + originalPath + " is " + width + "x" + height
+                            + " pixels, above the limit of " + maxSourcePixels);
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                // Keep at least twice the largest variant's width for the final smooth scaling
+                int subsampling = Math.max(1, width / (2 * CoverSize.FULL.getMaxWidth()));
+                if (subsampling > 1) {
+                    param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                }
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static String variantPath(String originalPath, CoverSize size) {
+        int slash = originalPath.lastIndexOf('/');
+        int dot = originalPath.lastIndexOf('.');
+        String base = dot > slash ? originalPath.substring(0, dot) : originalPath;
+        return base + "_" + size.getSuffix() + ".jpg";
+    }
+
+    // JPEG has no alpha channel; flatten onto white
+    private static BufferedImage toRgb(BufferedImage image) {
+        if (image.getType() == BufferedImage.TYPE_INT_RGB) {
+            return image;
+        }
+        BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = rgb.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, image.getWidth(), image.getHeight());
+            g.drawImage(image, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return rgb;
+    }
+
+    // Halve repeatedly, then one bilinear step; never upscales
+    private static BufferedImage scaleToWidth(BufferedImage image, int maxWidth) {
+        BufferedImage current = image;
+        while (current.getWidth() > maxWidth) {
+            int width = Math.max(maxWidth, current.getWidth() / 2);
+            int height = Math.max(1, (int) Math.round((double) current.getHeight() * width / current.getWidth()));
+            BufferedImage next = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        }
+        return current;
+    }
+
+    // Written to a temp file and moved into place, so readers never see a partial image
+    private static void writeJpeg(BufferedImage image, Path target) {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(target.getParent(), ".cover", ".tmp");
+            try (ImageOutputStream out = ImageIO.createImageOutputStream(temp.toFile())) {
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(JPEG_QUALITY);
+                writer.setOutput(out);
+                writer.write(null, new IIOImage(image, null, null), param);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new FileStorageException("Failed to write cover variant " + target.getFileName(), e);
+        } finally {
+            writer.dispose();
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                    // Best effort; the temp file is hidden and harmless
+                }
+            }
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.novelly.backend.service.impl;
 
 import com.novelly.backend.service.FileStorageService;
 import com.novelly.backend.service.exception.FileStorageException;
+import com.novelly.backend.service.exception.StorageBusyException;
+import com.novelly.backend.service.exception.UploadTooLargeException;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
@@ -14,9 +16,17 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.MalformedURLException;
 import java.nio.file.*;
-import java.util.UUID;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
@@ -28,7 +38,22 @@ public class LocalFileStorageService implements FileStorageService {
     @Value("${file.storage.location:./uploads}")
     private String storageLocation;
 
+    // Copy buffer per upload; the only memory an upload holds regardless of file size
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int SNIFF_BYTES = 16;
+
+    @Value("${file.upload.max-concurrent:4}")
+    private int maxConcurrentUploads;
+
+    @Value("${file.upload.wait-ms:10000}")
+    private long uploadWaitMillis;
+
+    // Covers and pages; the multipart limit is sized for bulk chapter imports, which do not come through here
+    @Value("${file.upload.max-file-bytes:10485760}")
+    private long maxFileBytes;
+
     private Path rootLocation;
+    private Semaphore uploadPermits;
 
     @PostConstruct
     public void init() {
@@ -36,6 +61,7 @@ public class LocalFileStorageService implements FileStorageService {
         // Log the resolved root location for debugging
         log.info("File storage location property: {}", storageLocation);
         log.info("Resolved root location: {}", rootLocation);
+        this.uploadPermits = new Semaphore(maxConcurrentUploads, true);
         try {
             Files.createDirectories(rootLocation);
         } catch (IOException e) {
@@ -45,33 +71,133 @@ public class LocalFileStorageService implements FileStorageService {
 
     @Override
     public String store(MultipartFile file, String subDir) {
-        String original = StringUtils.cleanPath(file.getOriginalFilename());
-        if (original == null || original.isBlank()) {
-            throw new FileStorageException("Invalid file name");
-        }
+        return storeFile(file, subDir).relativePath();
+    }
+
+    @Override
+    public StoredFile storeFile(MultipartFile file, String subDir) {
+        String original = StringUtils.cleanPath(file.getOriginalFilename() != null ? file.getOriginalFilename() : "");
         if (original.contains("..")) {
             throw new FileStorageException("Filename contains invalid path sequence " + original);
         }
-
-        String ext = "";
-        int i = original.lastIndexOf('.');
-        if (i > 0) ext = original.substring(i);
-
-        String filename = UUID.randomUUID().toString() + ext;
         Path targetDir = (subDir == null || subDir.isBlank())
                 ? rootLocation
                 : rootLocation.resolve(subDir).normalize();
+        if (!targetDir.startsWith(rootLocation)) {
+            throw new FileStorageException("Attempt to store file outside storage location");
+        }
+        if (file.getSize() > maxFileBytes) {
+            throw new UploadTooLargeException("Upload exceeds " + maxFileBytes + " bytes: " + original);
+        }
 
+        acquireUploadPermit();
+        Path temp = null;
         try {
             Files.createDirectories(targetDir);
-            Path target = targetDir.resolve(filename).normalize();
-            try (var in = file.getInputStream()) {
-                Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+            // Same directory as the target, so the final move is an atomic rename
+            temp = Files.createTempFile(targetDir, ".upload", ".tmp");
+
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[BUFFER_SIZE];
+            byte[] head = new byte[SNIFF_BYTES];
+            int headLength = 0;
+            long size = 0;
+            try (InputStream in = file.getInputStream();
+                 OutputStream out = Files.newOutputStream(temp, StandardOpenOption.WRITE)) {
+                int n;
+                while ((n = in.read(buffer)) != -1) {
+                    if (headLength < SNIFF_BYTES) {
+                        int take = Math.min(n, SNIFF_BYTES - headLength);
+                        System.arraycopy(buffer, 0, head, headLength, take);
+                        headLength += take;
+                    }
+                    digest.update(buffer, 0, n);
+                    out.write(buffer, 0, n);
+                    size += n;
+                    if (size > maxFileBytes) {
+                        throw new UploadTooLargeException("Upload exceeds " + maxFileBytes + " bytes: " + original);
+                    }
+                }
             }
-            Path relative = rootLocation.relativize(target);
-            return relative.toString().replace("\\", "/");
+
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            String contentType = sniffContentType(Arrays.copyOf(head, headLength));
+            String filename = sha256 + extensionFor(contentType, original);
+            Path target = targetDir.resolve(filename);
+            try {
+                // Where rename replaces an existing target, the file it replaces has the same content
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                temp = null;
+            } catch (FileAlreadyExistsException e) {
+                // Same content already stored here, possibly by a concurrent upload; finally removes temp
+            }
+
+            String relative = rootLocation.relativize(target).toString().replace("\\", "/");
+            return new StoredFile(relative, sha256, contentType, size);
         } catch (IOException e) {
             throw new FileStorageException("Failed to store file " + original, e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    log.warn("Could not remove temp upload {}", temp);
+                }
+            }
+            uploadPermits.release();
+        }
+    }
+
+    private void acquireUploadPermit() {
+        try {
+            if (!uploadPermits.tryAcquire(uploadWaitMillis, TimeUnit.MILLISECONDS)) {
+                throw new StorageBusyException("Too many uploads in progress, try again shortly");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StorageBusyException("Interrupted while waiting to upload");
+        }
+    }
+
+    // Content type from magic numbers; the client-supplied type is not trusted
+    private static String sniffContentType(byte[] head) {
+        if (startsWith(head, 0xFF, 0xD8, 0xFF)) return "image/jpeg";
+        if (startsWith(head, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) return "image/png";
+        if (startsWith(head, 'G', 'I', 'F', '8')) return "image/gif";
+        if (startsWith(head, 'R', 'I', 'F', 'F') && head.length >= 12
+                && head[8] == 'W' && head[9] == 'E' && head[10] == 'B' && head[11] == 'P') return "image/webp";
+        if (startsWith(head, '%', 'P', 'D', 'F')) return "application/pdf";
+        if (startsWith(head, 'P', 'K', 0x03, 0x04)) return "application/zip";
+        return "application/octet-stream";
+    }
+
+    private static boolean startsWith(byte[] head, int... magic) {
+        if (head.length < magic.length) {
+            return false;
+        }
+        for (int i = 0; i < magic.length; i++) {
+            if ((head[i] & 0xFF) != magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Sniffed types get a canonical extension; anything else keeps the original one
+    private static String extensionFor(String contentType, String originalName) {
+        switch (contentType) {
+            case "image/jpeg": return ".jpg";
+            case "image/png": return ".png";
+            case "image/gif": return ".gif";
+            case "image/webp": return ".webp";
+            case "application/pdf": return ".pdf";
+            case "application/zip": return ".zip";
+            default:
+                int i = originalName.lastIndexOf('.');
+                String ext = i > 0 ? originalName.substring(i).toLowerCase(Locale.ROOT) : "";
+                return ext.matches("\\.[a-z0-9]{1,8}") ? ext : "";
         }
     }
 
@@ -79,6 +205,9 @@ public class LocalFileStorageService implements FileStorageService {
     public Resource loadAsResource(String relativePath) {
         try {
             Path file = rootLocation.resolve(relativePath).normalize();
+            if (!file.startsWith(rootLocation)) {
+                throw new FileStorageException("Attempt to read file outside storage location");
+            }
             Resource resource = new UrlResource(file.toUri());
             if (resource.exists() && resource.isReadable()) {
                 return resource;
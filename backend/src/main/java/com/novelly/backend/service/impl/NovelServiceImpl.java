@@ -0,0 +1,171 @@
+package com.novelly.backend.service.impl;
+
+import com.novelly.backend.dto.ChapterSummaryDto;
+import com.novelly.backend.dto.CursorPageDto;
+import com.novelly.backend.dto.NovelDetailDto;
+import com.novelly.backend.dto.NovelDto;
+import com.novelly.backend.dto.NovelSummaryDto;
+import com.novelly.backend.dto.RatingStatsDto;
+import com.novelly.backend.dto.ReadingProgressDto;
+import com.novelly.backend.dto.ReviewDto;
+import com.novelly.backend.entity.Novel;
+import com.novelly.backend.repository.ChapterRepository;
+import com.novelly.backend.repository.LibraryRepository;
+import com.novelly.backend.repository.NovelRepository;
+import com.novelly.backend.repository.ReadingProgressRepository;
+import com.novelly.backend.service.NovelService;
+import com.novelly.backend.service.ReviewService;
+import com.novelly.backend.service.cache.SingleFlight;
+import com.novelly.backend.service.exception.QueryExecutorBusyException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+@Service
+@RequiredArgsConstructor
+public class NovelServiceImpl implements NovelService {
+
+    private static final int MAX_CATALOG_PAGE_SIZE = 100;
+    private static final int DETAIL_LATEST_CHAPTERS = 5;
+    private static final int DETAIL_REVIEWS = 10;
+    // Sentinels that sort before/after every real row, for the first page
+    private static final LocalDateTime MIN_TIME = LocalDateTime.of(1000, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_TIME = LocalDateTime.of(9999, 12, 31, 23, 59);
+
+    private final NovelRepository novelRepository;
+    private final ChapterRepository chapterRepository;
+    private final LibraryRepository libraryRepository;
+    private final ReadingProgressRepository progressRepository;
+    private final ReviewService reviewService;
+    private final SingleFlight<Integer, Optional<Novel>> novelLoads;
+    private final ExecutorService queryExecutor;
+
+    @Override
+    public Optional<Novel> findById(Integer novelId) {
+        return novelLoads.load(novelId, () -> novelRepository.findById(novelId));
+    }
+
+    @Override
+    public Optional<NovelDetailDto> getDetail(Integer novelId, Integer userId) {
+        // Unknown ids return before any work is queued
+        Optional<NovelDto> header = novelRepository.findDtoById(novelId);
+        if (header.isEmpty()) {
+            return Optional.empty();
+        }
+
+        // Each remaining part is one indexed query; they are independent, so run them together
+        // on the bounded queryExecutor (at most query.executor.threads connections at once)
+        CompletableFuture<Long> chapterCount = async(() -> chapterRepository.countByNovel_NovelId(novelId));
+        CompletableFuture<List<ChapterSummaryDto>> latestChapters = async(() -> chapterRepository
+                .findTocBefore(novelId, Integer.MAX_VALUE, PageRequest.of(0, DETAIL_LATEST_CHAPTERS)));
+        CompletableFuture<RatingStatsDto> ratingStats = async(() -> reviewService.getRatingStats(novelId));
+        CompletableFuture<List<ReviewDto>> reviews = async(() -> reviewService
+                .getReviewFeed(novelId, ReviewService.ReviewSort.RECENT, null, DETAIL_REVIEWS).getItems());
+
+        CompletableFuture<Boolean> inLibrary = userId != null
+                ? async(() -> libraryRepository.existsByUserUserIdAndNovelNovelId(userId, novelId))
+                : CompletableFuture.completedFuture(null);
+        CompletableFuture<ReadingProgressDto> progress = userId != null
+                ? async(() -> progressRepository.findDtoByUserIdAndNovelId(userId, novelId).orElse(null))
+                : CompletableFuture.completedFuture(null);
+
+        RatingStatsDto rating = ratingStats.join();
+        return Optional.of(NovelDetailDto.builder()
+                .novel(header.get())
+                .chapterCount(chapterCount.join())
+                .latestChapters(latestChapters.join())
+                .averageRating(rating.getAverageRating())
+                .reviewCount(rating.getReviewCount())
+                .reviews(reviews.join())
+                .inLibrary(inLibrary.join())
+                .progress(progress.join())
+                .build());
+    }
+
+    private <T> CompletableFuture<T> async(Supplier<T> query) {
+        try {
+            return CompletableFuture.supplyAsync(query, queryExecutor);
+        } catch (RejectedExecutionException e) {
+            throw new QueryExecutorBusyException("Too many requests in progress, try again shortly");
+        }
+    }
+
+    @Override
+    public CursorPageDto<NovelSummaryDto> getCatalog(CatalogSort sort, String cursor, int size, boolean includeStats) {
+        int pageSize = Math.max(1, Math.min(size, MAX_CATALOG_PAGE_SIZE));
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        String[] key = cursor != null && !cursor.isBlank() ? decodeCursor(sort, cursor) : null;
+
+        List<NovelSummaryDto> rows = switch (sort) {
+            case NEWEST -> key == null
+                    ? novelRepository.findCatalogNewest(MAX_TIME, Integer.MAX_VALUE, limit)
+                    : novelRepository.findCatalogNewest(LocalDateTime.parse(key[0]), Integer.valueOf(key[1]), limit);
+            case OLDEST -> key == null
+                    ? novelRepository.findCatalogOldest(MIN_TIME, 0, limit)
+                    : novelRepository.findCatalogOldest(LocalDateTime.parse(key[0]), Integer.valueOf(key[1]), limit);
+            case UPDATED -> key == null
+                    ? novelRepository.findCatalogUpdated(MAX_TIME, Integer.MAX_VALUE, limit)
+                    : novelRepository.findCatalogUpdated(LocalDateTime.parse(key[0]), Integer.valueOf(key[1]), limit);
+            case TITLE -> key == null
+                    ? novelRepository.findCatalogByTitle("", 0, limit)
+                    : novelRepository.findCatalogByTitle(key[0], Integer.valueOf(key[1]), limit);
+        };
+
+        boolean hasMore = rows.size() > pageSize;
+        List<NovelSummaryDto> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? encodeCursor(sort, items.get(items.size() - 1)) : null;
+
+        if (includeStats && !items.isEmpty()) {
+            Map<Integer, RatingStatsDto> stats = reviewService.getRatingStats(
+                    items.stream().map(NovelSummaryDto::getNovelId).toList());
+            items.forEach(item -> item.setRatingStats(stats.get(item.getNovelId())));
+        }
+
+        return CursorPageDto.<NovelSummaryDto>builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Cursor is the sort key and id of the last row returned, base64url-encoded
+     * as "SORT|value|novelId"
+     */
+    static String encodeCursor(CatalogSort sort, NovelSummaryDto last) {
+        String value = switch (sort) {
+            case NEWEST, OLDEST -> String.valueOf(last.getCreatedAt());
+            // Same fallback as the updated_at backfill in database_schema.sql
+            case UPDATED -> String.valueOf(last.getUpdatedAt() != null ? last.getUpdatedAt() : last.getCreatedAt());
+            case TITLE -> last.getTitle();
+        };
+        String raw = sort.name() + "|" + value + "|" + last.getNovelId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String[] decodeCursor(CatalogSort sort, String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int first = raw.indexOf('|');
+            int last = raw.lastIndexOf('|');
+            if (first < 0 || first == last || !raw.substring(0, first).equals(sort.name())) {
+                throw new IllegalArgumentException("Cursor does not belong to sort " + sort);
+            }
+            return new String[]{raw.substring(first + 1, last), raw.substring(last + 1)};
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid catalogue cursor", e);
+        }
+    }
+}
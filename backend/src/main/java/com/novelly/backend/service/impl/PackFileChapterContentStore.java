@@ -0,0 +1,239 @@
+package com.novelly.backend.service.impl;
+
+import com.novelly.backend.service.ChapterContentStore;
+import com.novelly.backend.service.exception.FileStorageException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Stores chapter bodies in numbered pack files under {@code chapter.pack.location}.
+ * This is deliberately not inside the uploads directory, which is served
+ * publicly. Writes append to the active
+ * segment; reads are slices of a memory-mapped segment, so hot chapters are
+ * served from the page cache without copying into the heap.
+ */
+@Service
+public class PackFileChapterContentStore implements ChapterContentStore {
+
+    private static final Logger log = LoggerFactory.getLogger(PackFileChapterContentStore.class);
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".pack";
+    // A MappedByteBuffer cannot exceed 2GB
+    private static final long MAX_SEGMENT_BYTES = 1L << 30;
+    // The active segment is remapped only once it has grown this much past its mapping
+    private static final long REMAP_GROWTH_BYTES = 16L << 20;
+
+    private final Path directory;
+    private final long segmentMaxBytes;
+
+    private final Map<Integer, MappedByteBuffer> mappings = new ConcurrentHashMap<>();
+
+    // Guarded by this
+    private int activeSegment;
+    private FileChannel activeChannel;
+    private long activeSize;
+
+    public PackFileChapterContentStore(@Value("${chapter.pack.location:./data/chapter-packs}") String location,
+                                       @Value("${chapter.pack.segment-max-bytes:268435456}") long segmentMaxBytes) {
+        this.directory = Paths.get(location).toAbsolutePath().normalize();
+        this.segmentMaxBytes = Math.min(segmentMaxBytes, MAX_SEGMENT_BYTES);
+    }
+
+    @PostConstruct
+    public void init() {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new FileStorageException("Could not initialize chapter pack directory", e);
+        }
+        int latest = listSegments().keySet().stream().mapToInt(Integer::intValue).max().orElse(1);
+        openActive(latest);
+        log.info("Chapter pack store at {} (active segment {}, {} bytes)", directory, activeSegment, activeSize);
+    }
+
+    @Override
+    public synchronized Location append(byte[] data) {
+        if (activeSize > 0 && activeSize + data.length > segmentMaxBytes) {
+            openActive(activeSegment + 1);
+        }
+        long offset = activeSize;
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            long position = offset;
+            while (buffer.hasRemaining()) {
+                position += activeChannel.write(buffer, position);
+            }
+            activeSize = position;
+        } catch (IOException e) {
+            throw new FileStorageException("Failed to append to chapter pack segment " + activeSegment, e);
+        }
+        return new Location(activeSegment, offset, data.length);
+    }
+
+    @Override
+    public synchronized void flush() {
+        try {
+            activeChannel.force(false);
+        } catch (IOException e) {
+            throw new FileStorageException("Failed to sync chapter pack segment " + activeSegment, e);
+        }
+    }
+
+    @Override
+    public ByteBuffer read(Location location) {
+        long end = location.offset() + location.length();
+        MappedByteBuffer mapped = mappings.get(location.segment());
+        if (mapped == null || mapped.capacity() < end) {
+            // First read of this segment, or the active segment has grown since it was mapped
+            mapped = map(location.segment(), end);
+        }
+        if (mapped.capacity() < end) {
+            // Recently appended tail of the active segment, not worth a remap yet
+            return readUnmapped(location);
+        }
+        return mapped.slice((int) location.offset(), location.length()).asReadOnlyBuffer();
+    }
+
+    @Override
+    public Map<Integer, Long> getSealedSegments() {
+        int active;
+        synchronized (this) {
+            active = activeSegment;
+        }
+        Map<Integer, Long> sealed = listSegments();
+        sealed.keySet().removeIf(segment -> segment >= active);
+        return sealed;
+    }
+
+    @Override
+    public void deleteSegment(int segment) {
+        synchronized (this) {
+            if (segment == activeSegment) {
+                throw new FileStorageException("Cannot delete the active chapter pack segment");
+            }
+        }
+        mappings.remove(segment);
+        try {
+            Files.deleteIfExists(segmentPath(segment));
+        } catch (IOException e) {
+            throw new FileStorageException("Failed to delete chapter pack segment " + segment, e);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        try {
+            if (activeChannel != null) {
+                activeChannel.force(false);
+                activeChannel.close();
+            }
+        } catch (IOException e) {
+            log.warn("Failed to close chapter pack segment {}", activeSegment, e);
+        }
+    }
+
+    /**
+     * Map a segment in full. A segment that is still being appended to is
+     * remapped only after it has grown by REMAP_GROWTH_BYTES, so a burst of
+     * appends and reads does not map the whole file again for every chapter;
+     * reads past the current mapping are copied by readUnmapped instead.
+     */
+    private MappedByteBuffer map(int segment, long requiredEnd) {
+        boolean active;
+        synchronized (this) {
+            active = segment == activeSegment;
+        }
+        return mappings.compute(segment, (id, current) -> {
+            if (current != null && current.capacity() >= requiredEnd) {
+                return current;
+            }
+            try (FileChannel channel = FileChannel.open(segmentPath(id), StandardOpenOption.READ)) {
+                long size = channel.size();
+                if (size < requiredEnd) {
+                    throw new FileStorageException("Chapter pack segment " + id + " is shorter than expected");
+                }
+                if (current != null && active && size - current.capacity() < REMAP_GROWTH_BYTES) {
+                    return current;
+                }
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to map chapter pack segment " + id, e);
+            }
+        });
+    }
+
+    private ByteBuffer readUnmapped(Location location) {
+        ByteBuffer buffer = ByteBuffer.allocate(location.length());
+        try (FileChannel channel = FileChannel.open(segmentPath(location.segment()), StandardOpenOption.READ)) {
+            long position = location.offset();
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    throw new FileStorageException("Chapter pack segment " + location.segment() + " is shorter than expected");
+                }
+                position += read;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read chapter pack segment " + location.segment(), e);
+        }
+        return buffer.flip().asReadOnlyBuffer();
+    }
+
+    private void openActive(int segment) {
+        try {
+            if (activeChannel != null) {
+                activeChannel.force(false);
+                activeChannel.close();
+            }
+            activeChannel = FileChannel.open(segmentPath(segment),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.READ);
+            activeSegment = segment;
+            activeSize = activeChannel.size();
+        } catch (IOException e) {
+            throw new FileStorageException("Failed to open chapter pack segment " + segment, e);
+        }
+    }
+
+    private Map<Integer, Long> listSegments() {
+        Map<Integer, Long> segments = new TreeMap<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                String name = file.getFileName().toString();
+                if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    try {
+                        int id = Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+                        segments.put(id, Files.size(file));
+                    } catch (NumberFormatException | IOException e) {
+                        log.warn("Ignoring unexpected file in chapter pack directory: {}", name);
+                    }
+                }
+            });
+        } catch (IOException e) {
+            throw new FileStorageException("Failed to list chapter pack segments", e);
+        }
+        return segments;
+    }
+
+    private Path segmentPath(int segment) {
+        return directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, segment, SEGMENT_SUFFIX));
+    }
+}
@@ -0,0 +1,65 @@
+package com.novelly.backend.service.impl;
+
+import com.novelly.backend.entity.NovelRatingStats;
+import com.novelly.backend.repository.NovelRatingStatsRepository;
+import com.novelly.backend.repository.ReviewRepository;
+import com.novelly.backend.service.ReviewService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Periodically compares the maintained rating totals with a fresh grouped
+ * count of reviews and recounts any novel that has drifted (reviews removed
+ * by cascades or manual edits, rows predating the totals table).
+ */
+@Component
+@RequiredArgsConstructor
+public class RatingStatsReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(RatingStatsReconciler.class);
+
+    private final ReviewRepository reviewRepository;
+    private final NovelRatingStatsRepository ratingStatsRepository;
+    private final ReviewService reviewService;
+
+    @Scheduled(fixedDelayString = "${reviews.stats.reconcile-interval-ms:3600000}",
+               initialDelayString = "${reviews.stats.reconcile-initial-delay-ms:60000}")
+    public void reconcile() {
+        Map<Integer, NovelRatingStats> expected = new HashMap<>();
+        for (Object[] row : reviewRepository.aggregateRatingsByNovel()) {
+            NovelRatingStats stats = new NovelRatingStats();
+            ReviewServiceImpl.copyAggregate(row, stats);
+            expected.put(stats.getNovelId(), stats);
+        }
+
+        Set<Integer> drifted = new HashSet<>();
+        for (NovelRatingStats actual : ratingStatsRepository.findAll()) {
+            NovelRatingStats wanted = expected.remove(actual.getNovelId());
+            if (wanted == null ? actual.getRatingCount() != 0 || actual.getRatingSum() != 0 : !wanted.equals(actual)) {
+                drifted.add(actual.getNovelId());
+            }
+        }
+        // Novels with reviews but no totals row yet
+        drifted.addAll(expected.keySet());
+
+        for (Integer novelId : drifted) {
+            try {
+                reviewService.reconcileRatingStats(novelId);
+            } catch (RuntimeException e) {
+                // A concurrent first review may have created the row; the next run re-checks it
+                log.warn("Could not reconcile rating stats for novel {}: {}", novelId, e.getMessage());
+            }
+        }
+        if (!drifted.isEmpty()) {
+            log.info("Reconciled rating stats for {} novels", drifted.size());
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.novelly.backend.service.impl;
+
+import com.novelly.backend.dto.CursorPageDto;
+import com.novelly.backend.dto.RatingStatsDto;
+import com.novelly.backend.dto.ReviewDto;
+import com.novelly.backend.entity.NovelRatingStats;
+import com.novelly.backend.entity.Review;
+import com.novelly.backend.repository.NovelRatingStatsRepository;
+import com.novelly.backend.repository.NovelRepository;
+import com.novelly.backend.repository.ReviewRepository;
+import com.novelly.backend.repository.UserRepository;
+import com.novelly.backend.service.ReviewService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+public class ReviewServiceImpl implements ReviewService {
+
+    private static final int MAX_FEED_PAGE_SIZE = 100;
+    // Sorts after every real row, for the first page
+    private static final LocalDateTime MAX_TIME = LocalDateTime.of(9999, 12, 31, 23, 59);
+
+    private final ReviewRepository reviewRepository;
+    private final NovelRepository novelRepository;
+    private final UserRepository userRepository;
+    private final NovelRatingStatsRepository ratingStatsRepository;
+
+    @Override
+    public CursorPageDto<ReviewDto> getReviewFeed(Integer novelId, ReviewSort sort, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_FEED_PAGE_SIZE));
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        String[] key = cursor != null && !cursor.isBlank() ? decodeCursor(sort, cursor) : null;
+
+        List<ReviewDto> rows = switch (sort) {
+            case RECENT -> key == null
+                    ? reviewRepository.findFeedRecent(novelId, MAX_TIME, Integer.MAX_VALUE, limit)
+                    : reviewRepository.findFeedRecent(novelId, LocalDateTime.parse(key[0]), Integer.valueOf(key[2]), limit);
+            case RATING -> key == null
+                    ? reviewRepository.findFeedByRating(novelId, Integer.MAX_VALUE, MAX_TIME, Integer.MAX_VALUE, limit)
+                    : reviewRepository.findFeedByRating(novelId, Integer.valueOf(key[1]), LocalDateTime.parse(key[0]),
+                            Integer.valueOf(key[2]), limit);
+        };
+
+        boolean hasMore = rows.size() > pageSize;
+        List<ReviewDto> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? encodeCursor(sort, items.get(items.size() - 1)) : null;
+
+        return CursorPageDto.<ReviewDto>builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public ReviewDto createOrUpdateReview(Integer novelId, Integer userId, String username, Integer rating, String comment) {
+        if (!novelRepository.existsById(novelId)) {
+            throw new RuntimeException("Novel not found");
+        }
+
+        // Check if user already reviewed this novel; locked, as the old rating is taken out of the totals
+        Optional<Review> existingReview = reviewRepository.findForUpdate(userId, novelId);
+
+        Review review;
+        if (existingReview.isPresent()) {
+            // Update existing review, moving its rating in the totals
+            review = existingReview.get();
+            if (!review.getRating().equals(rating)) {
+                ratingStatsRepository.applyRating(novelId, review.getRating(), -1);
+                ratingStatsRepository.applyRating(novelId, rating, 1);
+            }
+            review.setRating(rating);
+            review.setComment(comment);
+        } else {
+            review = new Review();
+            review.setUser(userRepository.getReferenceById(userId));
+            review.setNovel(novelRepository.getReferenceById(novelId));
+            review.setRating(rating);
+            review.setComment(comment);
+            ratingStatsRepository.applyRating(novelId, rating, 1);
+        }
+
+        review = reviewRepository.save(review);
+
+        return ReviewDto.builder()
+                .reviewId(review.getReviewId())
+                .rating(review.getRating())
+                .comment(review.getComment())
+                .username(username)
+                .createdAt(review.getCreatedAt())
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public void deleteReview(Integer reviewId, Integer userId, boolean isAdmin) {
+        Review review = reviewRepository.findByIdForUpdate(reviewId)
+                .orElseThrow(() -> new RuntimeException("Review not found"));
+
+        if (!review.getUser().getUserId().equals(userId) && !isAdmin) {
+            throw new AccessDeniedException("Not authorized to delete this review");
+        }
+
+        ratingStatsRepository.applyRating(review.getNovel().getNovelId(), review.getRating(), -1);
+        reviewRepository.delete(review);
+    }
+
+    @Override
+    public RatingStatsDto getRatingStats(Integer novelId) {
+        return ratingStatsRepository.findById(novelId)
+                .map(ReviewServiceImpl::toDto)
+                .orElseGet(() -> toDto(new NovelRatingStats(novelId, 0L, 0L, 0L, 0L, 0L, 0L, 0L)));
+    }
+
+    @Override
+    public Map<Integer, RatingStatsDto> getRatingStats(Collection<Integer> novelIds) {
+        Map<Integer, RatingStatsDto> result = new LinkedHashMap<>();
+        for (NovelRatingStats stats : ratingStatsRepository.findAllById(novelIds)) {
+            result.put(stats.getNovelId(), toDto(stats));
+        }
+        for (Integer novelId : novelIds) {
+            result.computeIfAbsent(novelId, id -> toDto(new NovelRatingStats(id, 0L, 0L, 0L, 0L, 0L, 0L, 0L)));
+        }
+        return result;
+    }
+
+    @Override
+    @Transactional
+    public void reconcileRatingStats(Integer novelId) {
+        // The row lock orders this recount against concurrent review writes
+        Optional<NovelRatingStats> locked = ratingStatsRepository.findForUpdate(novelId);
+        List<Object[]> rows = reviewRepository.aggregateRatingsForNovel(novelId);
+        if (rows.isEmpty()) {
+            locked.ifPresent(ratingStatsRepository::delete);
+            return;
+        }
+        NovelRatingStats stats = locked.orElseGet(NovelRatingStats::new);
+        copyAggregate(rows.get(0), stats);
+        ratingStatsRepository.save(stats);
+    }
+
+    /**
+     * Cursor is the last row's sort key, base64url-encoded as
+     * "SORT|createdAt|rating|reviewId"
+     */
+    static String encodeCursor(ReviewSort sort, ReviewDto last) {
+        String raw = sort.name() + "|" + last.getCreatedAt() + "|" + last.getRating() + "|" + last.getReviewId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Returns [createdAt, rating, reviewId]
+    static String[] decodeCursor(ReviewSort sort, String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 4 || !parts[0].equals(sort.name())) {
+                throw new IllegalArgumentException("Cursor does not belong to sort " + sort);
+            }
+            return new String[]{parts[1], parts[2], parts[3]};
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid review cursor", e);
+        }
+    }
+
+    /**
+     * Fill stats from a ReviewRepository rating aggregate row
+     */
+    static void copyAggregate(Object[] row, NovelRatingStats stats) {
+        stats.setNovelId((Integer) row[0]);
+        stats.setRatingCount(((Number) row[1]).longValue());
+        stats.setRatingSum(((Number) row[2]).longValue());
+        stats.setRating1(((Number) row[3]).longValue());
+        stats.setRating2(((Number) row[4]).longValue());
+        stats.setRating3(((Number) row[5]).longValue());
+        stats.setRating4(((Number) row[6]).longValue());
+        stats.setRating5(((Number) row[7]).longValue());
+    }
+
+    static RatingStatsDto toDto(NovelRatingStats stats) {
+        long count = stats.getRatingCount();
+        return RatingStatsDto.builder()
+                .novelId(stats.getNovelId())
+                .averageRating(count > 0 ? (double) stats.getRatingSum() / count : 0.0)
+                .reviewCount(count)
+                .ratingCounts(List.of(stats.getRating1(), stats.getRating2(), stats.getRating3(),
+                        stats.getRating4(), stats.getRating5()))
+                .build();
+    }
+}
@@ -2,6 +2,7 @@ package com.novelly.backend.service.impl;
 
 import com.novelly.backend.entity.User;
 import com.novelly.backend.repository.UserRepository;
+import com.novelly.backend.security.UserDetailsServiceImpl;
 import com.novelly.backend.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -15,10 +16,13 @@ import java.util.Optional;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final UserDetailsServiceImpl userDetailsService;
 
     @Override
     public User create(User user) {
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userDetailsService.evict(saved);
+        return saved;
     }
 
     @Override
@@ -53,6 +57,15 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public void delete(Integer id) {
+        userRepository.findById(id).ifPresent(userDetailsService::evict);
         userRepository.deleteById(id);
     }
+
+    @Override
+    public void updatePasswordHash(Integer id, String passwordHash) {
+        userRepository.findById(id).ifPresent(user -> {
+            user.setPasswordHash(passwordHash);
+            userDetailsService.evict(user);
+        });
+    }
 }
\ No newline at end of file
@@ -0,0 +1,325 @@
+package com.novelly.backend.service.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.novelly.backend.dto.NovelSummaryDto;
+import com.novelly.backend.entity.Novel;
+import com.novelly.backend.repository.NovelRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over novel title, author and description, ranked
+ * with BM25. Built once at startup and kept current by NovelController on
+ * create/update/delete, so searches never touch the database. The last query
+ * word also matches as a prefix ("harr" finds "harry"), as search-as-you-type
+ * callers send partial words.
+ */
+@Component
+public class NovelSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(NovelSearchIndex.class);
+
+    // BM25 parameters
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    // Term frequency weight per field (a title hit counts three description hits)
+    private static final float TITLE_WEIGHT = 3.0f;
+    private static final float AUTHOR_WEIGHT = 2.0f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+
+    // A prefix-only match on the last word ranks below the exact word
+    private static final float PREFIX_MATCH_WEIGHT = 0.8f;
+    // Single letters would expand to a large part of the dictionary
+    private static final int MIN_PREFIX_LENGTH = 2;
+
+    private static final int BUILD_BATCH_SIZE = 1000;
+
+    private final NovelRepository novelRepository;
+    private final int maxResults;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Sorted, so the terms starting with a prefix are one contiguous range
+    private final TreeMap<String, Postings> postings = new TreeMap<>();
+    private final Map<Integer, String[]> docTerms = new HashMap<>();
+    private final Map<Integer, Float> docLengths = new HashMap<>();
+    private final Map<Integer, NovelSummaryDto> documents = new HashMap<>();
+    private double totalLength;
+
+    // Ranked ids per index generation and normalized query. Lookups only use the
+    // current generation, so a result computed before an index change can be put
+    // late without ever being served; the old entries are also dropped wholesale.
+    private final Cache<ResultKey, int[]> results;
+    private final AtomicLong generation = new AtomicLong();
+    private volatile boolean ready;
+
+    public NovelSearchIndex(NovelRepository novelRepository,
+                            @Value("${search.max-results:1000}") int maxResults,
+                            @Value("${search.result-cache-size:10000}") long resultCacheSize) {
+        this.novelRepository = novelRepository;
+        this.maxResults = maxResults;
+        this.results = Caffeine.newBuilder().maximumSize(resultCacheSize).build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.currentTimeMillis();
+        int afterId = 0;
+        int count = 0;
+        List<Novel> batch;
+        do {
+            batch = novelRepository.findByNovelIdGreaterThanOrderByNovelIdAsc(afterId, PageRequest.of(0, BUILD_BATCH_SIZE));
+            for (Novel novel : batch) {
+                index(novel);
+                afterId = novel.getNovelId();
+            }
+            count += batch.size();
+        } while (batch.size() == BUILD_BATCH_SIZE);
+        ready = true;
+        log.info("Search index built: {} novels, {} terms in {} ms", count, postings.size(), System.currentTimeMillis() - start);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Add or replace a novel in the index
+     */
+    public void index(Novel novel) {
+        Map<String, Float> weights = new HashMap<>();
+        addField(weights, novel.getTitle(), TITLE_WEIGHT);
+        addField(weights, novel.getAuthor(), AUTHOR_WEIGHT);
+        addField(weights, novel.getDescription(), DESCRIPTION_WEIGHT);
+        float length = 0;
+        for (float w : weights.values()) {
+            length += w;
+        }
+
+        NovelSummaryDto summary = NovelSummaryDto.builder()
+                .novelId(novel.getNovelId())
+                .title(novel.getTitle())
+                .author(novel.getAuthor())
+                .coverImage(novel.getCoverImage())
+                .createdAt(novel.getCreatedAt())
+                .updatedAt(novel.getUpdatedAt())
+                .build();
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(novel.getNovelId());
+            int docId = novel.getNovelId();
+            for (Map.Entry<String, Float> term : weights.entrySet()) {
+                postings.computeIfAbsent(term.getKey(), t -> new Postings()).add(docId, term.getValue());
+            }
+            docTerms.put(docId, weights.keySet().toArray(new String[0]));
+            docLengths.put(docId, length);
+            documents.put(docId, summary);
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        invalidateResults();
+    }
+
+    public void remove(Integer novelId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(novelId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        invalidateResults();
+    }
+
+    /**
+     * Ranked novel ids for a query, best first (at most search.max-results)
+     */
+    public int[] search(String query) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(TextNormalizer.tokenize(query)));
+        if (terms.isEmpty()) {
+            return new int[0];
+        }
+        // Read before ranking: the result reflects at least this generation's index
+        ResultKey key = new ResultKey(generation.get(), String.join(" ", terms));
+        int[] ranked = results.get(key, k -> {
+            lock.readLock().lock();
+            try {
+                return rank(terms);
+            } finally {
+                lock.readLock().unlock();
+            }
+        });
+        // Callers get their own copy of the cached array
+        return ranked.clone();
+    }
+
+    /**
+     * Copies of the stored summaries for the given ids, in the same order; unknown
+     * ids are skipped. Callers may fill in rating stats without touching the index.
+     */
+    public List<NovelSummaryDto> getSummaries(int[] novelIds, int from, int to) {
+        List<NovelSummaryDto> summaries = new ArrayList<>(Math.max(0, to - from));
+        lock.readLock().lock();
+        try {
+            for (int i = Math.max(0, from); i < Math.min(to, novelIds.length); i++) {
+                NovelSummaryDto summary = documents.get(novelIds[i]);
+                if (summary != null) {
+                    summaries.add(new NovelSummaryDto(summary.getNovelId(), summary.getTitle(), summary.getAuthor(),
+                            summary.getCoverImage(), summary.getCreatedAt(), summary.getUpdatedAt()));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return summaries;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            stats.put("documents", documents.size());
+            stats.put("terms", postings.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+        stats.put("ready", ready);
+        stats.put("cachedQueries", results.estimatedSize());
+        return stats;
+    }
+
+    private int[] rank(List<String> terms) {
+        int docCount = documents.size();
+        if (docCount == 0) {
+            return new int[0];
+        }
+        float avgLength = (float) (totalLength / docCount);
+
+        Map<Integer, Float> scores = new HashMap<>();
+        for (int t = 0; t < terms.size(); t++) {
+            String term = terms.get(t);
+            Map<Integer, Float> termScores = new HashMap<>();
+            if (t < terms.size() - 1 || term.length() < MIN_PREFIX_LENGTH) {
+                Postings list = postings.get(term);
+                if (list != null) {
+                    score(list, 1.0f, docCount, avgLength, termScores);
+                }
+            } else {
+                // Every dictionary term starting with the last word; a document counts its best one
+                for (Map.Entry<String, Postings> entry : postings.tailMap(term, true).entrySet()) {
+                    if (!entry.getKey().startsWith(term)) {
+                        break;
+                    }
+                    float weight = entry.getKey().length() == term.length() ? 1.0f : PREFIX_MATCH_WEIGHT;
+                    score(entry.getValue(), weight, docCount, avgLength, termScores);
+                }
+            }
+            termScores.forEach((doc, score) -> scores.merge(doc, score, Float::sum));
+        }
+
+        // Keep only the best maxResults, then order them
+        PriorityQueue<Map.Entry<Integer, Float>> top = new PriorityQueue<>(Map.Entry.comparingByValue());
+        for (Map.Entry<Integer, Float> entry : scores.entrySet()) {
+            top.offer(entry);
+            if (top.size() > maxResults) {
+                top.poll();
+            }
+        }
+        int[] ranked = new int[top.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) {
+            ranked[i] = top.poll().getKey();
+        }
+        return ranked;
+    }
+
+    // BM25 contribution of one term to each document containing it; keeps the best per document
+    private void score(Postings list, float weight, int docCount, float avgLength, Map<Integer, Float> scores) {
+        float idf = (float) Math.log(1 + (docCount - list.size + 0.5) / (list.size + 0.5));
+        for (int i = 0; i < list.size; i++) {
+            int doc = list.docs[i];
+            float tf = list.weights[i];
+            float norm = K1 * (1 - B + B * docLengths.get(doc) / avgLength);
+            scores.merge(doc, weight * idf * tf * (K1 + 1) / (tf + norm), Math::max);
+        }
+    }
+
+    private void removeLocked(Integer novelId) {
+        String[] terms = docTerms.remove(novelId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Postings list = postings.get(term);
+            if (list != null && list.remove(novelId) && list.size == 0) {
+                postings.remove(term);
+            }
+        }
+        Float length = docLengths.remove(novelId);
+        totalLength -= length != null ? length : 0;
+        documents.remove(novelId);
+    }
+
+    private void invalidateResults() {
+        generation.incrementAndGet();
+        results.invalidateAll();
+    }
+
+    private record ResultKey(long generation, String query) {
+    }
+
+    private static void addField(Map<String, Float> weights, String text, float weight) {
+        for (String token : TextNormalizer.tokenize(text)) {
+            weights.merge(token, weight, Float::sum);
+        }
+    }
+
+    /**
+     * Documents containing a term, as parallel primitive arrays (unordered)
+     */
+    private static final class Postings {
+        int[] docs = new int[4];
+        float[] weights = new float[4];
+        int size;
+
+        void add(int doc, float weight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = doc;
+            weights[size] = weight;
+            size++;
+        }
+
+        boolean remove(int doc) {
+            for (int i = 0; i < size; i++) {
+                if (docs[i] == doc) {
+                    size--;
+                    docs[i] = docs[size];
+                    weights[i] = weights[size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,342 @@
+package com.novelly.backend.service.search;
+
+import com.novelly.backend.dto.NovelSuggestionDto;
+import com.novelly.backend.entity.Novel;
+import com.novelly.backend.repository.LibraryRepository;
+import com.novelly.backend.repository.NovelRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Prefix trie over normalized titles and authors for search-box suggestions.
+ * Every node caches the most popular novels in its subtree, so a lookup is a
+ * walk down the typed prefix with no sorting and no database access.
+ * Popularity is the number of libraries a novel is in.
+ */
+@Component
+public class NovelSuggestIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(NovelSuggestIndex.class);
+
+    // Suggestions kept per node; also the maximum a caller can ask for
+    public static final int MAX_SUGGESTIONS = 10;
+    // Keys are truncated to this length; longer prefixes are already unambiguous
+    private static final int MAX_KEY_LENGTH = 32;
+    // Title suffixes are indexed from each of the first few words, so "khung" finds "Đấu Phá Thương Khung"
+    private static final int MAX_TITLE_WORD_STARTS = 6;
+    private static final int BUILD_BATCH_SIZE = 1000;
+
+    private static final char[] NO_LABELS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final int[] NO_IDS = new int[0];
+
+    private final NovelRepository novelRepository;
+    private final LibraryRepository libraryRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node();
+    private final Map<Integer, NovelSuggestionDto> suggestions = new HashMap<>();
+    private final Map<Integer, String[]> keysByNovel = new HashMap<>();
+    private final Map<Integer, Long> popularity = new HashMap<>();
+
+    public NovelSuggestIndex(NovelRepository novelRepository, LibraryRepository libraryRepository) {
+        this.novelRepository = novelRepository;
+        this.libraryRepository = libraryRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.currentTimeMillis();
+        List<Object[]> counts = libraryRepository.countByNovel();
+        lock.writeLock().lock();
+        try {
+            for (Object[] row : counts) {
+                popularity.put((Integer) row[0], ((Number) row[1]).longValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        int afterId = 0;
+        int count = 0;
+        List<Novel> batch;
+        do {
+            batch = novelRepository.findByNovelIdGreaterThanOrderByNovelIdAsc(afterId, PageRequest.of(0, BUILD_BATCH_SIZE));
+            for (Novel novel : batch) {
+                index(novel);
+                afterId = novel.getNovelId();
+            }
+            count += batch.size();
+        } while (batch.size() == BUILD_BATCH_SIZE);
+        log.info("Suggest index built: {} novels in {} ms", count, System.currentTimeMillis() - start);
+    }
+
+    public List<NovelSuggestionDto> suggest(String prefix, int limit) {
+        String key = truncate(TextNormalizer.normalize(prefix));
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            int n = Math.min(Math.min(limit, MAX_SUGGESTIONS), node.top.length);
+            List<NovelSuggestionDto> result = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                result.add(suggestions.get(node.top[i]));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Add or replace a novel
+     */
+    public void index(Novel novel) {
+        Set<String> keys = new LinkedHashSet<>();
+        String title = TextNormalizer.normalize(novel.getTitle());
+        addKey(keys, title);
+        int starts = 0;
+        for (int i = title.indexOf(' '); i >= 0 && starts < MAX_TITLE_WORD_STARTS; i = title.indexOf(' ', i + 1), starts++) {
+            addKey(keys, title.substring(i + 1));
+        }
+        addKey(keys, TextNormalizer.normalize(novel.getAuthor()));
+
+        NovelSuggestionDto suggestion = NovelSuggestionDto.builder()
+                .novelId(novel.getNovelId())
+                .title(novel.getTitle())
+                .author(novel.getAuthor())
+                .build();
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(novel.getNovelId());
+            suggestions.put(novel.getNovelId(), suggestion);
+            String[] keyArray = keys.toArray(new String[0]);
+            keysByNovel.put(novel.getNovelId(), keyArray);
+            for (String key : keyArray) {
+                insertKey(key, novel.getNovelId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Integer novelId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(novelId);
+            popularity.remove(novelId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Record a library add (+1) or removal (-1) and re-rank the novel
+     */
+    public void adjustPopularity(Integer novelId, long delta) {
+        lock.writeLock().lock();
+        try {
+            popularity.merge(novelId, delta, Long::sum);
+            String[] keys = keysByNovel.get(novelId);
+            if (keys == null) {
+                return;
+            }
+            for (String key : keys) {
+                removeKey(key, novelId);
+            }
+            for (String key : keys) {
+                insertKey(key, novelId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            stats.put("novels", suggestions.size());
+            stats.put("keys", keysByNovel.values().stream().mapToInt(k -> k.length).sum());
+        } finally {
+            lock.readLock().unlock();
+        }
+        return stats;
+    }
+
+    private void removeLocked(Integer novelId) {
+        String[] keys = keysByNovel.remove(novelId);
+        if (keys != null) {
+            for (String key : keys) {
+                removeKey(key, novelId);
+            }
+        }
+        suggestions.remove(novelId);
+    }
+
+    private void insertKey(String key, int novelId) {
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < key.length(); i++) {
+            path[i + 1] = path[i].childOrCreate(key.charAt(i));
+        }
+        Node leaf = path[key.length()];
+        leaf.terminals = append(leaf.terminals, novelId);
+        for (Node node : path) {
+            offerTop(node, novelId);
+        }
+    }
+
+    private void removeKey(String key, int novelId) {
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < key.length(); i++) {
+            path[i + 1] = path[i].child(key.charAt(i));
+            if (path[i + 1] == null) {
+                return;
+            }
+        }
+        Node leaf = path[key.length()];
+        leaf.terminals = without(leaf.terminals, novelId);
+
+        // Recompute cached tops bottom-up, pruning nodes that became empty
+        for (int depth = key.length(); depth >= 0; depth--) {
+            Node node = path[depth];
+            if (depth > 0 && node.terminals.length == 0 && node.children.length == 0) {
+                path[depth - 1].removeChild(key.charAt(depth - 1));
+                continue;
+            }
+            recomputeTop(node);
+        }
+    }
+
+    private void offerTop(Node node, int novelId) {
+        for (int id : node.top) {
+            if (id == novelId) {
+                return;
+            }
+        }
+        int[] top = append(node.top, novelId);
+        sortByPopularity(top);
+        node.top = top.length > MAX_SUGGESTIONS ? Arrays.copyOf(top, MAX_SUGGESTIONS) : top;
+    }
+
+    private void recomputeTop(Node node) {
+        Set<Integer> candidates = new LinkedHashSet<>();
+        for (int id : node.terminals) {
+            candidates.add(id);
+        }
+        for (Node child : node.children) {
+            for (int id : child.top) {
+                candidates.add(id);
+            }
+        }
+        int[] top = candidates.stream().mapToInt(Integer::intValue).toArray();
+        sortByPopularity(top);
+        node.top = top.length > MAX_SUGGESTIONS ? Arrays.copyOf(top, MAX_SUGGESTIONS) : top;
+    }
+
+    // Most popular first, newest novel first on ties
+    private void sortByPopularity(int[] ids) {
+        Integer[] boxed = Arrays.stream(ids).boxed().toArray(Integer[]::new);
+        Arrays.sort(boxed, (a, b) -> {
+            int cmp = Long.compare(popularity.getOrDefault(b, 0L), popularity.getOrDefault(a, 0L));
+            return cmp != 0 ? cmp : Integer.compare(b, a);
+        });
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = boxed[i];
+        }
+    }
+
+    private static void addKey(Set<String> keys, String key) {
+        if (!key.isEmpty()) {
+            keys.add(truncate(key));
+        }
+    }
+
+    private static String truncate(String key) {
+        return key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key;
+    }
+
+    private static int[] append(int[] ids, int id) {
+        int[] grown = Arrays.copyOf(ids, ids.length + 1);
+        grown[ids.length] = id;
+        return grown;
+    }
+
+    private static int[] without(int[] ids, int id) {
+        return Arrays.stream(ids).filter(x -> x != id).toArray();
+    }
+
+    /**
+     * Trie node with children in small sorted parallel arrays
+     */
+    private static final class Node {
+        char[] labels = NO_LABELS;
+        Node[] children = NO_CHILDREN;
+        int[] terminals = NO_IDS;   // novels with a key ending here
+        int[] top = NO_IDS;         // best novels in this subtree, most popular first
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(labels, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        Node childOrCreate(char c) {
+            int i = Arrays.binarySearch(labels, c);
+            if (i >= 0) {
+                return children[i];
+            }
+            int at = -i - 1;
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, at);
+            System.arraycopy(children, 0, newChildren, 0, at);
+            newLabels[at] = c;
+            Node created = new Node();
+            newChildren[at] = created;
+            System.arraycopy(labels, at, newLabels, at + 1, labels.length - at);
+            System.arraycopy(children, at, newChildren, at + 1, children.length - at);
+            labels = newLabels;
+            children = newChildren;
+            return created;
+        }
+
+        void removeChild(char c) {
+            int i = Arrays.binarySearch(labels, c);
+            if (i < 0) {
+                return;
+            }
+            char[] newLabels = new char[labels.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(labels, 0, newLabels, 0, i);
+            System.arraycopy(children, 0, newChildren, 0, i);
+            System.arraycopy(labels, i + 1, newLabels, i, labels.length - i - 1);
+            System.arraycopy(children, i + 1, newChildren, i, children.length - i - 1);
+            labels = newLabels;
+            children = newChildren;
+        }
+    }
+}
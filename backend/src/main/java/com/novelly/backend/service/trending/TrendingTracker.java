@@ -0,0 +1,261 @@
+package com.novelly.backend.service.trending;
+
+import com.novelly.backend.dto.NovelSummaryDto;
+import com.novelly.backend.repository.LibraryRepository;
+import com.novelly.backend.repository.ReadingProgressRepository;
+import com.novelly.backend.repository.ReviewRepository;
+import com.novelly.backend.service.search.NovelSearchIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ranks novels by recent reader activity. Each window keeps one score per
+ * novel in a primitive array indexed by novel id; events add
+ * weight * e^((t - base) / tau), so existing scores never need touching when
+ * time passes. When the exponent grows large, every score is scaled down and
+ * the base moved to now. Top lists are snapshotted on a schedule and served
+ * from memory.
+ */
+@Component
+public class TrendingTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(TrendingTracker.class);
+
+    public enum Window {
+        DAILY(Duration.ofDays(1)),
+        WEEKLY(Duration.ofDays(7)),
+        ALL_TIME(null);
+
+        private final Duration meanLife;
+
+        Window(Duration meanLife) {
+            this.meanLife = meanLife;
+        }
+    }
+
+    public enum Signal {
+        PROGRESS(1.0),
+        REVIEW(2.0),
+        LIBRARY(3.0);
+
+        private final double weight;
+
+        Signal(double weight) {
+            this.weight = weight;
+        }
+    }
+
+    public static final int TOP_K = 100;
+    // Rebase well before e^x loses precision against small increments
+    private static final double REBASE_EXPONENT = 30.0;
+    // Older events contribute under e^-4 (2%) to the weekly window, so bootstrap stops there
+    private static final Duration BOOTSTRAP_HORIZON = Duration.ofDays(28);
+
+    private static final Window[] WINDOWS = Window.values();
+
+    private final ReadingProgressRepository progressRepository;
+    private final LibraryRepository libraryRepository;
+    private final ReviewRepository reviewRepository;
+    private final NovelSearchIndex novelSearchIndex;
+
+    private final Object lock = new Object();
+    private final double[][] scores = new double[WINDOWS.length][1024];
+    private final long[] baseMillis = new long[WINDOWS.length];
+
+    private volatile int[][] snapshots = new int[WINDOWS.length][0];
+    private volatile long snapshotAt;
+    private volatile boolean ready;
+
+    public TrendingTracker(ReadingProgressRepository progressRepository,
+                           LibraryRepository libraryRepository,
+                           ReviewRepository reviewRepository,
+                           NovelSearchIndex novelSearchIndex) {
+        this.progressRepository = progressRepository;
+        this.libraryRepository = libraryRepository;
+        this.reviewRepository = reviewRepository;
+        this.novelSearchIndex = novelSearchIndex;
+        Arrays.fill(baseMillis, System.currentTimeMillis());
+    }
+
+    /**
+     * Seed scores from stored activity: grouped counts for all-time, and
+     * timestamped rows from the last few weeks for the decayed windows
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        long start = System.currentTimeMillis();
+        LocalDateTime since = LocalDateTime.now().minus(BOOTSTRAP_HORIZON);
+
+        seedAllTime(progressRepository.countByNovel(), Signal.PROGRESS);
+        seedAllTime(libraryRepository.countByNovel(), Signal.LIBRARY);
+        seedAllTime(reviewRepository.countByNovel(), Signal.REVIEW);
+        seedDecayed(progressRepository.findActivitySince(since), Signal.PROGRESS);
+        seedDecayed(libraryRepository.findActivitySince(since), Signal.LIBRARY);
+        seedDecayed(reviewRepository.findActivitySince(since), Signal.REVIEW);
+
+        snapshot();
+        ready = true;
+        log.info("Trending scores seeded in {} ms", System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Count one reader action on a novel
+     */
+    public void record(Integer novelId, Signal signal) {
+        long now = System.currentTimeMillis();
+        synchronized (lock) {
+            for (Window window : WINDOWS) {
+                add(window, novelId, signal.weight, now);
+            }
+        }
+    }
+
+    public void remove(Integer novelId) {
+        synchronized (lock) {
+            for (double[] windowScores : scores) {
+                if (novelId < windowScores.length) {
+                    windowScores[novelId] = 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Highest-ranked novels from the latest snapshot; no database access
+     */
+    public List<NovelSummaryDto> getTrending(Window window, int limit) {
+        int[] top = snapshots[window.ordinal()];
+        return novelSearchIndex.getSummaries(top, 0, Math.min(Math.max(limit, 0), TOP_K));
+    }
+
+    @Scheduled(fixedDelayString = "${trending.snapshot-interval-ms:60000}",
+               initialDelayString = "${trending.snapshot-interval-ms:60000}")
+    public void snapshot() {
+        int[][] next = new int[WINDOWS.length][];
+        for (Window window : WINDOWS) {
+            double[] copy;
+            synchronized (lock) {
+                copy = scores[window.ordinal()].clone();
+            }
+            // Relative order is unaffected by the shared e^(-base) factor, so raw scores rank directly
+            next[window.ordinal()] = topK(copy);
+        }
+        snapshots = next;
+        snapshotAt = System.currentTimeMillis();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (lock) {
+            stats.put("capacity", scores[0].length);
+        }
+        for (Window window : WINDOWS) {
+            stats.put(window.name().toLowerCase() + "Ranked", snapshots[window.ordinal()].length);
+        }
+        stats.put("snapshotAt", snapshotAt);
+        return stats;
+    }
+
+    private void seedAllTime(List<Object[]> counts, Signal signal) {
+        synchronized (lock) {
+            for (Object[] row : counts) {
+                int novelId = (Integer) row[0];
+                ensureCapacity(novelId);
+                scores[Window.ALL_TIME.ordinal()][novelId] += signal.weight * ((Number) row[1]).doubleValue();
+            }
+        }
+    }
+
+    private void seedDecayed(List<Object[]> events, Signal signal) {
+        ZoneId zone = ZoneId.systemDefault();
+        synchronized (lock) {
+            for (Object[] row : events) {
+                if (row[1] == null) {
+                    continue;
+                }
+                long at = ((LocalDateTime) row[1]).atZone(zone).toInstant().toEpochMilli();
+                for (Window window : WINDOWS) {
+                    if (window.meanLife != null) {
+                        add(window, (Integer) row[0], signal.weight, at);
+                    }
+                }
+            }
+        }
+    }
+
+    // Caller holds the lock
+    private void add(Window window, int novelId, double weight, long at) {
+        ensureCapacity(novelId);
+        int w = window.ordinal();
+        if (window.meanLife == null) {
+            scores[w][novelId] += weight;
+            return;
+        }
+        double tau = window.meanLife.toMillis();
+        double exponent = (at - baseMillis[w]) / tau;
+        if (exponent > REBASE_EXPONENT) {
+            rebase(w, at, tau);
+            exponent = 0;
+        }
+        scores[w][novelId] += weight * Math.exp(exponent);
+    }
+
+    // Scale every score to a new base time; caller holds the lock
+    private void rebase(int w, long newBase, double tau) {
+        double factor = Math.exp(-(newBase - baseMillis[w]) / tau);
+        double[] windowScores = scores[w];
+        for (int i = 0; i < windowScores.length; i++) {
+            windowScores[i] *= factor;
+        }
+        baseMillis[w] = newBase;
+    }
+
+    // Caller holds the lock
+    private void ensureCapacity(int novelId) {
+        if (novelId < scores[0].length) {
+            return;
+        }
+        int capacity = Math.max(novelId + 1, scores[0].length * 2);
+        for (int w = 0; w < scores.length; w++) {
+            scores[w] = Arrays.copyOf(scores[w], capacity);
+        }
+    }
+
+    // Ids of the highest positive scores, best first
+    static int[] topK(double[] values) {
+        int[] ids = new int[TOP_K];
+        double[] best = new double[TOP_K];
+        int size = 0;
+        for (int id = 0; id < values.length; id++) {
+            double value = values[id];
+            if (value <= 0 || (size == TOP_K && value <= best[size - 1])) {
+                continue;
+            }
+            int at = size == TOP_K ? size - 1 : size++;
+            while (at > 0 && best[at - 1] < value) {
+                best[at] = best[at - 1];
+                ids[at] = ids[at - 1];
+                at--;
+            }
+            best[at] = value;
+            ids[at] = id;
+        }
+        return Arrays.copyOf(ids, size);
+    }
+}
@@ -0,0 +1,84 @@
+package com.novelly.backend.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encodes chapter bodies for storage. Bodies are gzipped once at write time so
+ * the stored bytes can be sent as-is to clients that accept gzip.
+ */
+public final class ChapterContentCodec {
+
+    public static final String GZIP = "gzip";
+
+    private ChapterContentCodec() {
+    }
+
+    public static byte[] compress(String content) {
+        byte[] raw = content.getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 3));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(raw);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compress chapter content", e);
+        }
+        return out.toByteArray();
+    }
+
+    public static String decompress(byte[] data, String codec) {
+        if (data == null) {
+            return null;
+        }
+        return decompress(new ByteArrayInputStream(data), codec);
+    }
+
+    public static String decompress(ByteBuffer data, String codec) {
+        if (data == null) {
+            return null;
+        }
+        return decompress(new ByteBufferInputStream(data.duplicate()), codec);
+    }
+
+    private static String decompress(InputStream in, String codec) {
+        if (!GZIP.equals(codec)) {
+            throw new IllegalArgumentException("Unsupported chapter content codec: " + codec);
+        }
+        try (GZIPInputStream gzip = new GZIPInputStream(in)) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decompress chapter content", e);
+        }
+    }
+
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            if (!tokens[0].trim().equalsIgnoreCase(GZIP)) {
+                continue;
+            }
+            // Honour an explicit "gzip;q=0" refusal
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(param.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
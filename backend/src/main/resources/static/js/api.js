@@ -139,10 +139,30 @@ const NovelsAPI = {
         return get('/novels', params);
     },
     
+    // GET /api/novels/search (ranked full-text search, diacritics-insensitive)
+    search: (q, page = 0, size = 20) =>
+        get('/novels/search', { q, page, size }),
+    
+    // GET /api/novels/suggest (typeahead by title/author prefix, most popular first)
+    suggest: (q, limit = 8) =>
+        get('/novels/suggest', { q, limit }),
+    
+    // GET /api/novels/trending (window = 'daily' | 'weekly' | 'all_time')
+    getTrending: (window = 'daily', limit = 20) =>
+        get('/novels/trending', { window, limit }),
+    
+    // GET /api/novels/catalog (keyset-paginated summaries; pass nextCursor to continue)
+    getCatalog: (sort = 'newest', size = 24, cursor = null, includeStats = false) =>
+        get('/novels/catalog', { sort, size, cursor, includeStats }),
+    
     // GET /api/novels/{id}
     getById: (novelId) => 
         get(`/novels/${novelId}`),
     
+    // GET /api/novels/{id}/detail (header, chapters, ratings, reviews and library/progress state in one call)
+    getDetail: (novelId) =>
+        get(`/novels/${novelId}/detail`),
+    
     // POST /api/novels (JSON - admin)
     create: (NovelData) => 
         post('/novels', NovelData),
@@ -162,10 +182,14 @@ const NovelsAPI = {
 
 // Chapters API
 const chaptersAPI = {
-    // GET /api/novels/{novelId}/chapters
+    // GET /api/novels/{novelId}/chapters - Whole chapter list, without content
     getBynovelId: (novelId) => 
         get(`/novels/${novelId}/chapters`),
     
+    // GET /api/novels/{novelId}/chapters/toc - Chapter list without content, paged by chapter number
+    getToc: (novelId, after = null, limit = 100) =>
+        get(`/novels/${novelId}/chapters/toc`, { after, limit }),
+    
     // GET /api/novels/{novelId}/chapters/{chapterNumber} - Get chapter by number
     getByNumber: (novelId, chapterNumber) =>
         get(`/novels/${novelId}/chapters/${chapterNumber}`),
@@ -174,6 +198,10 @@ const chaptersAPI = {
     getById: (chapterId) =>
         get(`/chapters/${chapterId}`),
     
+    // GET /api/chapters/{chapterId}/reader - Chapter plus prev/next, progress and library state
+    getReaderBundle: (chapterId) =>
+        get(`/chapters/${chapterId}/reader`),
+    
     // POST /api/novels/{novelId}/chapters (admin)
     create: (novelId, chapterData) => 
         post(`/novels/${novelId}/chapters`, chapterData),
@@ -261,10 +289,18 @@ const reviewsAPI = {
     getByNovel: (novelId) =>
         get(`/reviews/novel/${novelId}`),
     
+    // GET /api/reviews/novel/{novelId}/feed (keyset-paginated; sort = 'recent' | 'rating')
+    getFeed: (novelId, sort = 'recent', size = 20, cursor = null) =>
+        get(`/reviews/novel/${novelId}/feed`, { sort, size, cursor }),
+    
     // GET /api/reviews/novel/{novelId}/stats
     getStats: (novelId) =>
         get(`/reviews/novel/${novelId}/stats`),
     
+    // GET /api/reviews/stats?novelIds=1,2,3 (many novels in one call)
+    getStatsBatch: (novelIds) =>
+        get('/reviews/stats', { novelIds: novelIds.join(',') }),
+    
     // POST /api/reviews/novel/{novelId}
     create: (novelId, rating, comment) =>
         post(`/reviews/novel/${novelId}`, { rating, comment }),
@@ -2,8 +2,10 @@
 
 // State
 let currentPage = 1;
-let totalPages = 1;
 let NovelsPerPage = 12;
+// Catalogue cursors: pageCursors[n - 1] fetches page n; hasNextPage comes from the last response
+let pageCursors = [null];
+let hasNextPage = false;
 
 function renderHome() {
     return `
@@ -49,18 +51,16 @@ async function loadLatestNovels() {
     if (!container) return;
     
     try {
-        // Fetch first page of novels (latest first)
-        const response = await api.novels.getAll(0, 10, '');
-        // Backend returns array, take first 10
-        const latestNovels = Array.isArray(response) ? response.slice(0, 10) : (response.content || []);
-        initSwiper('carousel-container', latestNovels);
+        // First page of the catalogue, newest first
+        const response = await api.novels.getCatalog('newest', 10);
+        initSwiper('carousel-container', response.items || []);
     } catch (error) {
         console.error('Error loading latest novels:', error);
         container.innerHTML = `<div class="error-message">Failed to load latest novels</div>`;
     }
 }
 
-// Load all novels with pagination
+// Load one catalogue page; only the novels on that page are fetched
 async function loadAllNovels(page = 1) {
     const grid = document.getElementById('novels-grid');
     if (!grid) return;
@@ -68,26 +68,22 @@ async function loadAllNovels(page = 1) {
     try {
         grid.innerHTML = Spinner({ message: 'Loading novels...' });
         
-        // Fetch from API - returns full array
-        const response = await api.novels.getAll(page - 1, NovelsPerPage, '');
-        
-        // Handle both array and paginated response formats
-        const allNovels = Array.isArray(response) ? response : (response.content || []);
+        if (page === 1) {
+            pageCursors = [null];
+        }
+        const response = await api.novels.getCatalog('newest', NovelsPerPage, pageCursors[page - 1]);
+        const novels = response.items || [];
         currentPage = page;
-        totalPages = Math.ceil(allNovels.length / NovelsPerPage) || 1;
+        hasNextPage = response.hasMore;
+        pageCursors[page] = response.nextCursor;
         
-        if (!allNovels || allNovels.length === 0) {
+        if (novels.length === 0) {
             grid.innerHTML = `<div class="empty-state"><h3>No novels found</h3></div>`;
             document.getElementById('pagination').classList.add('hidden');
             return;
         }
         
-        // Manually handle pagination for array response
-        const startIndex = (page - 1) * NovelsPerPage;
-        const endIndex = startIndex + NovelsPerPage;
-        const paginatedNovels = allNovels.slice(startIndex, endIndex);
-        
-        grid.innerHTML = paginatedNovels.map(novel => createNovelCard(novel)).join('');
+        grid.innerHTML = novels.map(novel => createNovelCard(novel)).join('');
         updatePagination();
         
     } catch (error) {
@@ -108,7 +104,7 @@ function updatePagination() {
     pagination.classList.remove('hidden');
     
     if (pageInfo) {
-        pageInfo.textContent = `Page ${currentPage} of ${totalPages}`;
+        pageInfo.textContent = `Page ${currentPage}`;
     }
     
     if (prevBtn) {
@@ -116,7 +112,7 @@ function updatePagination() {
     }
     
     if (nextBtn) {
-        nextBtn.disabled = currentPage === totalPages;
+        nextBtn.disabled = !hasNextPage;
     }
 }
 
@@ -128,7 +124,7 @@ function goToPrevPage() {
 }
 
 function goToNextPage() {
-    if (currentPage < totalPages) {
+    if (hasNextPage) {
         loadAllNovels(currentPage + 1);
         window.scrollTo({ top: 0, behavior: 'smooth' });
     }
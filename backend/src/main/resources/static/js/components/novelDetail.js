@@ -14,32 +14,11 @@ function initNovelDetail(params) {
     initHeader();
     const novelId = params.novelId || params;
     loadNovelDetail(novelId);
-    if (appState.currentUser) {
-        checkReadingProgress(novelId);
-    }
 }
 
 // Store reading progress globally for this novel
 let currentNovelProgress = null;
 
-// Check if user has reading progress for this novel
-async function checkReadingProgress(novelId) {
-    if (!appState.currentUser) return;
-    
-    try {
-        // Wait a bit for DOM to render
-        await new Promise(resolve => setTimeout(resolve, 500));
-        
-        const progress = await api.readingProgress.getByNovel(appState.currentUser.userId, novelId);
-        currentNovelProgress = progress;
-        console.log('Reading progress found:', progress);
-        updateContinueReadingButton(novelId, progress);
-    } catch (error) {
-        console.log('No reading progress found:', error);
-        currentNovelProgress = null;
-    }
-}
-
 // Update the continue reading button if progress exists
 function updateContinueReadingButton(novelId, progress) {
     const actionsDiv = document.querySelector('.novel-actions');
@@ -80,44 +59,21 @@ async function loadNovelDetail(novelId) {
             return;
         }
         
-        const novel = await api.novels.getById(novelId);
-        console.log('Novel fetched:', novel);
+        // Header, chapter count, rating, first reviews and the user's library/progress state in one call
+        const detail = await api.novels.getDetail(novelId);
+        const novel = detail ? detail.novel : null;
+        console.log('Novel detail fetched:', detail);
         
         if (!novel) {
             container.innerHTML = `<div class="error-message">Novel not found</div>`;
             return;
         }
 
-        // Fetch chapters for this novel (non-blocking, with timeout)
-        let chapters = [];
-        try {
-            console.log('[NovelDetail] Fetching chapters for novel:', novelId);
-            console.log('[NovelDetail] Using API method:', api.chapters.getBynovelId);
-            const chaptersResponse = await Promise.race([
-                api.chapters.getBynovelId(novelId),
-                new Promise((_, reject) => setTimeout(() => reject(new Error('Timeout')), 5000))
-            ]);
-            console.log('[NovelDetail] Raw chapters response:', chaptersResponse);
-            chapters = Array.isArray(chaptersResponse) ? chaptersResponse : (chaptersResponse.content || []);
-            console.log('[NovelDetail] Processed chapters array:', chapters);
-            console.log('[NovelDetail] Number of chapters:', chapters.length);
-        } catch (e) {
-            console.error('[NovelDetail] Error fetching chapters:', e);
-            chapters = [];
-        }
-
-        // Fetch review stats
-        let reviewStats = { averageRating: 0, reviewCount: 0 };
-        try {
-            reviewStats = await api.reviews.getStats(novelId);
-        } catch (e) {
-            console.error('[NovelDetail] Error fetching review stats:', e);
-        }
-
         const id = novel.novelId || novel.id;
-        const cover = getCoverImageUrl(novel.coverImageUrl || novel.coverImage);
-        const avgRating = reviewStats.averageRating || 0;
-        const reviewCount = reviewStats.reviewCount || 0;
+        const cover = getCoverImageUrl(novel.coverImageUrl || novel.coverImage, 'full');
+        const chapterCount = detail.chapterCount || 0;
+        const avgRating = detail.averageRating || 0;
+        const reviewCount = detail.reviewCount || 0;
 
         container.innerHTML = `
             <div class="novel-detail">
@@ -130,14 +86,20 @@ async function loadNovelDetail(novelId) {
                         <p class="novel-detail-author">By ${novel.author || 'Unknown'}</p>
                         <p class="novel-detail-description">${novel.description || 'No description'}</p>
                         <div class="novel-detail-stats">
-                            <span>${chapters ? chapters.length : 0} chapters</span>
+                            <span>${chapterCount} chapters</span>
                             <span class="rating-display">${renderStars(avgRating)} ${avgRating.toFixed(1)} (${reviewCount} reviews)</span>
                         </div>
                         ${appState.currentUser ? `
                             <div class="novel-actions">
-                                <button class="btn btn-primary" id="add-to-library-btn" onclick="addToLibrary(${id})">
-                                    <span id="library-icon">📚</span> Add to Library
-                                </button>
+                                ${detail.inLibrary ? `
+                                    <button class="btn btn-primary" id="add-to-library-btn" disabled>
+                                        <span id="library-icon">📚</span> In Library
+                                    </button>
+                                ` : `
+                                    <button class="btn btn-primary" id="add-to-library-btn" onclick="addToLibrary(${id})">
+                                        <span id="library-icon">📚</span> Add to Library
+                                    </button>
+                                `}
                             </div>
                         ` : `
                             <div class="novel-actions">
@@ -151,15 +113,11 @@ async function loadNovelDetail(novelId) {
 
                 <div class="novel-chapters">
                     <h2>Chapters</h2>
-                    ${chapters && chapters.length > 0 ? `
-                        <div class="chapters-list">
-                            ${chapters.map(chapter => `
-                                <div class="chapter-item" onclick="navigateTo('#/reader/${id}/${chapter.chapterId}')">
-                                    <span class="chapter-number">Ch. ${chapter.chapterNumber}</span>
-                                    <span class="chapter-title">${chapter.title || 'Untitled'}</span>
-                                </div>
-                            `).join('')}
-                        </div>
+                    ${chapterCount > 0 ? `
+                        <div class="chapters-list" id="chapters-list"></div>
+                        <button class="btn btn-secondary" id="chapters-more-btn" style="display: none;">
+                            Load more chapters
+                        </button>
                     ` : `
                         <div class="empty-state">
                             <p>No chapters available yet</p>
@@ -198,9 +156,7 @@ async function loadNovelDetail(novelId) {
                     `}
 
                     <!-- Reviews List -->
-                    <div id="reviews-list" class="reviews-list">
-                        <div class="spinner">Loading reviews...</div>
-                    </div>
+                    <div id="reviews-list" class="reviews-list"></div>
                 </div>
             </div>
         `;
@@ -214,8 +170,14 @@ async function loadNovelDetail(novelId) {
             });
         }
 
-        // Load reviews
-        loadReviews(novelId);
+        currentNovelProgress = detail.progress || null;
+        updateContinueReadingButton(id, currentNovelProgress);
+
+        renderReviewsList(detail.reviews || []);
+
+        if (chapterCount > 0) {
+            loadChapterPage(id, null);
+        }
 
     } catch (error) {
         console.error('Error loading novel:', error);
@@ -223,6 +185,30 @@ async function loadNovelDetail(novelId) {
     }
 }
 
+// Append one page of the table of contents; the button fetches the next page
+async function loadChapterPage(novelId, after) {
+    const list = document.getElementById('chapters-list');
+    const moreBtn = document.getElementById('chapters-more-btn');
+    if (!list) return;
+
+    try {
+        const page = await api.chapters.getToc(novelId, after);
+        list.insertAdjacentHTML('beforeend', page.items.map(chapter => `
+            <div class="chapter-item" onclick="navigateTo('#/reader/${novelId}/${chapter.chapterId}')">
+                <span class="chapter-number">Ch. ${chapter.chapterNumber}</span>
+                <span class="chapter-title">${chapter.title || 'Untitled'}</span>
+            </div>
+        `).join(''));
+
+        if (moreBtn) {
+            moreBtn.style.display = page.hasMore ? '' : 'none';
+            moreBtn.onclick = () => loadChapterPage(novelId, page.nextCursor);
+        }
+    } catch (e) {
+        console.error('[NovelDetail] Error fetching chapters:', e);
+    }
+}
+
 // Helper function to render stars
 function renderStars(rating) {
     const fullStars = Math.floor(rating);
@@ -296,36 +282,41 @@ async function loadReviews(novelId) {
 
     try {
         const reviews = await api.reviews.getByNovel(novelId);
-        
-        if (reviews.length === 0) {
-            reviewsList.innerHTML = `
-                <div class="empty-state">
-                    <p>No reviews yet. Be the first to review!</p>
-                </div>
-            `;
-            return;
-        }
-
-        reviewsList.innerHTML = reviews.map(review => `
-            <div class="review-item">
-                <div class="review-header">
-                    <div class="review-user">
-                        <div class="review-avatar">${review.username.substring(0, 2).toUpperCase()}</div>
-                        <span class="review-username">${review.username}</span>
-                    </div>
-                    <div class="review-rating">${renderStars(review.rating)}</div>
-                </div>
-                ${review.comment ? `<p class="review-comment">${review.comment}</p>` : ''}
-                <span class="review-date">${new Date(review.createdAt).toLocaleDateString()}</span>
-            </div>
-        `).join('');
-
+        renderReviewsList(reviews);
     } catch (error) {
         console.error('Error loading reviews:', error);
         reviewsList.innerHTML = `<div class="error-message">Failed to load reviews</div>`;
     }
 }
 
+function renderReviewsList(reviews) {
+    const reviewsList = document.getElementById('reviews-list');
+    if (!reviewsList) return;
+
+    if (reviews.length === 0) {
+        reviewsList.innerHTML = `
+            <div class="empty-state">
+                <p>No reviews yet. Be the first to review!</p>
+            </div>
+        `;
+        return;
+    }
+
+    reviewsList.innerHTML = reviews.map(review => `
+        <div class="review-item">
+            <div class="review-header">
+                <div class="review-user">
+                    <div class="review-avatar">${review.username.substring(0, 2).toUpperCase()}</div>
+                    <span class="review-username">${review.username}</span>
+                </div>
+                <div class="review-rating">${renderStars(review.rating)}</div>
+            </div>
+            ${review.comment ? `<p class="review-comment">${review.comment}</p>` : ''}
+            <span class="review-date">${new Date(review.createdAt).toLocaleDateString()}</span>
+        </div>
+    `).join('');
+}
+
 // Add novel to library function
 window.addToLibrary = async function(novelId) {
     const btn = document.getElementById('add-to-library-btn');
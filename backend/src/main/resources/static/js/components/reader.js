@@ -7,6 +7,8 @@ window.readerState = {
     chapterId: null,
     novel: null,
     chapters: [],
+    previous: null,
+    next: null,
     currentProgress: null
 };
 
@@ -58,7 +60,6 @@ function renderReader(params) {
 function initReader(params) {
     initHeader();
     loadChapter(params.novelId, params.chapterId);
-    loadReadingProgress(params.novelId);
     loadChaptersList(params.novelId);
 }
 
@@ -87,16 +88,21 @@ async function loadChapter(novelId, chapterId) {
             NovelTitleEl.textContent = novel.title;
         }
         
-        // Fetch chapter data with text content
-        console.log('[Reader] Fetching chapter:', chapterId);
-        console.log('[Reader] Using API method:', api.chapters.getById);
-        const chapter = await api.chapters.getById(chapterId);
+        // Chapter text, its neighbours and the reader's progress in one call
+        console.log('[Reader] Fetching reader bundle:', chapterId);
+        const bundle = await api.chapters.getReaderBundle(chapterId);
+        const chapter = bundle ? bundle.chapter : null;
         console.log('[Reader] Chapter fetched:', chapter);
         
         if (!chapter) {
             throw new Error('Chapter not found');
         }
         
+        window.readerState.previous = bundle.previous;
+        window.readerState.next = bundle.next;
+        window.readerState.currentProgress = bundle.progress;
+        updateProgressButton(bundle.progress);
+        
         if (!chapter.content || chapter.content.trim() === '') {
             throw new Error('Chapter content is empty');
         }
@@ -205,6 +211,10 @@ function handleBottomChapterChange() {
 
 // Navigate to previous chapter
 function goToPreviousChapter() {
+    if (window.readerState.previous) {
+        navigateTo(`#/reader/${window.readerState.novelId}/${window.readerState.previous.chapterId}`);
+        return;
+    }
     const chapters = window.readerState.chapters;
     if (!chapters || chapters.length === 0) return;
     
@@ -222,6 +232,10 @@ function goToPreviousChapter() {
 
 // Navigate to next chapter
 function goToNextChapter() {
+    if (window.readerState.next) {
+        navigateTo(`#/reader/${window.readerState.novelId}/${window.readerState.next.chapterId}`);
+        return;
+    }
     const chapters = window.readerState.chapters;
     if (!chapters || chapters.length === 0) return;
     
@@ -237,24 +251,6 @@ function goToNextChapter() {
     }
 }
 
-// Load reading progress for current novel
-async function loadReadingProgress(novelId) {
-    if (!appState.currentUser) {
-        return;
-    }
-    
-    try {
-        const progress = await api.readingProgress.getByNovel(appState.currentUser.userId, novelId);
-        window.readerState.currentProgress = progress;
-        
-        // Update button to show current progress
-        updateProgressButton(progress);
-    } catch (error) {
-        console.error('Error loading reading progress:', error);
-        window.readerState.currentProgress = null;
-    }
-}
-
 // Save reading progress
 window.saveReadingProgress = async function() {
     const { novelId, chapterId, novel } = window.readerState;
@@ -308,8 +304,11 @@ window.saveReadingProgress = async function() {
 function updateProgressButton(progress) {
     const btn = document.getElementById('save-progress-btn');
     
-    if (btn && progress && progress.chapterTitle) {
-        btn.title = `Last saved: ${progress.chapterTitle}`;
+    // Saved from this page: { chapterTitle }; from the reader bundle: { chapter: { chapterNumber, title } }
+    const chapterTitle = progress && (progress.chapterTitle
+        || (progress.chapter && (progress.chapter.title || `Chapter ${progress.chapter.chapterNumber}`)));
+    if (btn && chapterTitle) {
+        btn.title = `Last saved: ${chapterTitle}`;
     }
 }
 
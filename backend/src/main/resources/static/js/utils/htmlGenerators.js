@@ -1,5 +1,6 @@
 // Helper function to convert stored cover path to file serving URL
-function getCoverImageUrl(coverPath) {
+// size: optional pre-scaled variant ('thumb', 'card' or 'full'); the server falls back to the original
+function getCoverImageUrl(coverPath, size) {
     if (!coverPath) return 'assets/placeholder.png';
     
     // If it's already a full URL, return as-is
@@ -9,7 +10,8 @@ function getCoverImageUrl(coverPath) {
     
     // Convert stored path (e.g., "novels/6/cover/uuid_filename.jpg") to API endpoint
     if (coverPath.includes('/cover/') || coverPath.startsWith('novels/')) {
-        return `/api/pages/file?path=${encodeURIComponent(coverPath)}`;
+        const sizeParam = size ? `&size=${size}` : '';
+        return `/api/pages/file?path=${encodeURIComponent(coverPath)}${sizeParam}`;
     }
     
     return 'assets/placeholder.png';
@@ -19,7 +21,7 @@ function getCoverImageUrl(coverPath) {
 function createNovelCard(novel, options = {}) {
     // Support both mockData (id, coverImage, chapters) and backend DTO (novelId, coverImageUrl, chapterCount)
     const id = novel.novelId || novel.id;
-    const cover = getCoverImageUrl(novel.coverImageUrl || novel.coverImage);
+    const cover = getCoverImageUrl(novel.coverImageUrl || novel.coverImage, 'card');
     const chapters = novel.chapterCount ?? novel.chapters ?? '...';
     const desc = novel.description || '';
     
@@ -85,7 +87,7 @@ function createChapterItem(chapter) {
 function createSwiperSlide(novel) {
     // Support both mockData and backend DTO
     const id = novel.novelId || novel.id;
-    const cover = getCoverImageUrl(novel.coverImageUrl || novel.coverImage);
+    const cover = getCoverImageUrl(novel.coverImageUrl || novel.coverImage, 'full');
     
     // Use firstChapterId if available, otherwise show novel details page
     const readLink = novel.firstChapterId 
@@ -109,7 +111,7 @@ function createSwiperSlide(novel) {
 // Continue reading card
 function createContinueReadingCard(history) {
     const progressPercent = (history.currentChapter / history.totalChapters) * 100;
-    const cover = getCoverImageUrl(history.coverImage);
+    const cover = getCoverImageUrl(history.coverImage, 'thumb');
     
     return `
         <div class="continue-card" onclick="navigateTo('#/reader/${history.novelId}/${history.currentChapter}')">
@@ -44,7 +44,7 @@ function createNovelCardWithHighlight(novel, query) {
     const id = novel.novelId || novel.id;
     const coverPath = novel.coverImage || novel.coverImageUrl;
     const cover = (coverPath && typeof getCoverImageUrl === 'function') 
-        ? getCoverImageUrl(coverPath) 
+        ? getCoverImageUrl(coverPath, 'thumb') 
         : (coverPath || 'assets/placeholder.png');
     const chapters = novel.chapterCount ?? novel.chapters ?? 0;
     const desc = novel.description || '';
@@ -0,0 +1,105 @@
+package com.novelly.backend.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+	private final AtomicLong now = new AtomicLong();
+	private final RateLimiter limiter = new RateLimiter(now::get);
+	// One request per route per client, refilling every two seconds
+	private final RateLimitFilter filter = new RateLimitFilter(limiter, true, 0.5, 1, 0.5, 1, 0.5, 1, 0.5, 1);
+
+	@AfterEach
+	void clearContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	private MockHttpServletResponse send(String method, String path, String query) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+		if (query != null) {
+			request.setParameter("q", query);
+		}
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain());
+		return response;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, Long> allowed() {
+		return (Map<String, Long>) limiter.stats().get("allowed");
+	}
+
+	@Test
+	void routesRequestsToTheirPolicy() throws Exception {
+		send("POST", "/api/auth/login", null);
+		send("GET", "/api/novels/search", "harry");
+		send("GET", "/api/users/5/progress", null);
+		send("GET", "/api/novels/7", null);
+
+		assertThat(allowed()).containsOnly(
+				Map.entry("auth", 1L), Map.entry("search", 1L), Map.entry("progress", 1L), Map.entry("default", 1L));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void progressPatternCoversNestedPaths() throws Exception {
+		send("GET", "/api/users/5/progress", null);
+		send("DELETE", "/api/users/5/progress/12", null);
+
+		// Same bucket: the second request is the one over the limit
+		assertThat(allowed()).containsOnly(Map.entry("progress", 1L));
+		assertThat((Map<String, Long>) limiter.stats().get("rejected")).containsOnly(Map.entry("progress", 1L));
+	}
+
+	@Test
+	void novelListIsSearchOnlyWithQuery() throws Exception {
+		send("GET", "/api/novels", null);
+		send("GET", "/api/novels", "harr");
+
+		assertThat(allowed()).containsOnly(Map.entry("default", 1L), Map.entry("search", 1L));
+	}
+
+	@Test
+	void fileDownloadsAndNonApiPathsAreNotLimited() throws Exception {
+		for (int i = 0; i < 5; i++) {
+			assertThat(send("GET", "/api/pages/file", null).getStatus()).isEqualTo(200);
+			assertThat(send("GET", "/js/api.js", null).getStatus()).isEqualTo(200);
+		}
+
+		assertThat(allowed()).isEmpty();
+	}
+
+	@Test
+	void overLimitAnswers429WithRetryAfter() throws Exception {
+		assertThat(send("GET", "/api/novels/7", null).getStatus()).isEqualTo(200);
+
+		MockHttpServletResponse rejected = send("GET", "/api/novels/7", null);
+
+		assertThat(rejected.getStatus()).isEqualTo(429);
+		assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+	}
+
+	@Test
+	void authenticatedUsersAreLimitedByIdNotAddress() throws Exception {
+		assertThat(send("GET", "/api/novels/7", null).getStatus()).isEqualTo(200);
+
+		AuthenticatedUser user = new AuthenticatedUser(42, "reader", "USER", "");
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+
+		assertThat(send("GET", "/api/novels/7", null).getStatus()).isEqualTo(200);
+		assertThat(send("GET", "/api/novels/7", null).getStatus()).isEqualTo(429);
+	}
+}
@@ -0,0 +1,83 @@
+package com.novelly.backend.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	// Arbitrary start, close to overflow, since nanoTime values are only compared by difference
+	private final AtomicLong now = new AtomicLong(Long.MAX_VALUE - 5 * SECOND);
+	private final RateLimiter limiter = new RateLimiter(now::get);
+	private final RateLimiter.Policy policy = new RateLimiter.Policy("test", 2, 3);
+
+	@Test
+	void allowsBurstThenRejects() {
+		for (int i = 0; i < 3; i++) {
+			assertThat(limiter.tryAcquire(policy, "a")).isZero();
+		}
+		assertThat(limiter.tryAcquire(policy, "a")).isPositive();
+	}
+
+	@Test
+	void waitIsOneEmissionIntervalAfterBurst() {
+		for (int i = 0; i < 3; i++) {
+			limiter.tryAcquire(policy, "a");
+		}
+
+		assertThat(limiter.tryAcquire(policy, "a")).isEqualTo(SECOND / 2);
+	}
+
+	@Test
+	void refillsAtTheSustainedRate() {
+		for (int i = 0; i < 3; i++) {
+			limiter.tryAcquire(policy, "a");
+		}
+
+		now.addAndGet(SECOND / 2);
+		assertThat(limiter.tryAcquire(policy, "a")).isZero();
+		assertThat(limiter.tryAcquire(policy, "a")).isPositive();
+
+		now.addAndGet(10 * SECOND);
+		for (int i = 0; i < 3; i++) {
+			assertThat(limiter.tryAcquire(policy, "a")).isZero();
+		}
+	}
+
+	@Test
+	void keysHaveSeparateBuckets() {
+		for (int i = 0; i < 3; i++) {
+			limiter.tryAcquire(policy, "a");
+		}
+
+		assertThat(limiter.tryAcquire(policy, "b")).isZero();
+	}
+
+	@Test
+	void evictsOnlyRefilledBuckets() {
+		limiter.tryAcquire(policy, "a");
+		now.addAndGet(SECOND);
+		limiter.tryAcquire(policy, "b");
+
+		limiter.evictIdle();
+
+		assertThat(limiter.stats()).containsEntry("buckets", 1).containsEntry("evictedBuckets", 1L);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void countsAllowedAndRejectedPerPolicy() {
+		for (int i = 0; i < 4; i++) {
+			limiter.tryAcquire(policy, "a");
+		}
+
+		assertThat((Map<String, Long>) limiter.stats().get("allowed")).containsEntry("test", 3L);
+		assertThat((Map<String, Long>) limiter.stats().get("rejected")).containsEntry("test", 1L);
+	}
+}
@@ -0,0 +1,58 @@
+package com.novelly.backend.service.cache;
+
+import com.novelly.backend.dto.ChapterDto;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChapterCacheTest {
+
+	private final ChapterCache cache = new ChapterCache(1_000_000, 1_000, 3_600);
+
+	private static ChapterDto chapter(String content) {
+		return ChapterDto.builder()
+				.chapterId(7)
+				.novelId(1)
+				.chapterNumber(3)
+				.title("Three")
+				.content(content)
+				.build();
+	}
+
+	@Test
+	void putThenGetByIdAndNumber() {
+		cache.put(chapter("body"), cache.generation());
+
+		assertThat(cache.getById(7).getContent()).isEqualTo("body");
+		assertThat(cache.getByNumber(1, 3).getContent()).isEqualTo("body");
+	}
+
+	@Test
+	void loadStartedBeforeEvictionIsNotCached() {
+		long loadedAt = cache.generation();
+		// A writer evicts while the load is still reading the old row
+		cache.evict(7, 1, 3);
+		cache.put(chapter("old body"), loadedAt);
+
+		assertThat(cache.getById(7)).isNull();
+		assertThat(cache.getByNumber(1, 3)).isNull();
+	}
+
+	@Test
+	void loadStartedAfterEvictionIsCached() {
+		cache.evict(7, 1, 3);
+		cache.put(chapter("new body"), cache.generation());
+
+		assertThat(cache.getById(7).getContent()).isEqualTo("new body");
+	}
+
+	@Test
+	void callersCannotMutateCachedEntry() {
+		cache.put(chapter("body"), cache.generation());
+
+		cache.getById(7).setContent("tampered");
+
+		assertThat(cache.getById(7).getContent()).isEqualTo("body");
+		assertThat(cache.getById(7)).isNotSameAs(cache.getById(7));
+	}
+}
@@ -0,0 +1,84 @@
+package com.novelly.backend.service.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+	private final SingleFlight<String, String> flights = new SingleFlight<>("test");
+
+	@Test
+	void concurrentCallersShareOneLoad() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		try {
+			Future<String> leader = pool.submit(() -> flights.load("k", () -> {
+				calls.incrementAndGet();
+				loading.countDown();
+				await(release);
+				return "value";
+			}));
+			assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+			List<Future<String>> followers = new ArrayList<>();
+			for (int i = 0; i < 3; i++) {
+				followers.add(pool.submit(() -> flights.load("k", () -> {
+					calls.incrementAndGet();
+					return "other";
+				})));
+			}
+			// Followers have joined the leader's flight before it completes
+			while ((long) flights.stats().get("coalescedRequests") < 3) {
+				Thread.onSpinWait();
+			}
+			release.countDown();
+
+			assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+			for (Future<String> follower : followers) {
+				assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+			}
+			assertThat(calls).hasValue(1);
+			assertThat(flights.stats()).containsEntry("loads", 1L).containsEntry("maxFanIn", 4);
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	void nothingIsRetainedAfterTheLoad() {
+		assertThat(flights.load("k", () -> "first")).isEqualTo("first");
+		assertThat(flights.load("k", () -> "second")).isEqualTo("second");
+		assertThat(flights.stats()).containsEntry("inFlight", 0);
+	}
+
+	@Test
+	void failureReachesTheCallerAndIsNotCached() {
+		assertThatThrownBy(() -> flights.load("k", () -> {
+			throw new IllegalStateException("boom");
+		})).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+
+		assertThat(flights.load("k", () -> "recovered")).isEqualTo("recovered");
+		assertThat(flights.stats()).containsEntry("failures", 1L);
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
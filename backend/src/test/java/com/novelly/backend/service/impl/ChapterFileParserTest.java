@@ -0,0 +1,130 @@
+package com.novelly.backend.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChapterFileParserTest {
+
+	private final List<ChapterFileParser.ParsedChapter> chapters = new ArrayList<>();
+
+	@TempDir
+	Path tempDir;
+
+	private void parseText(String text, String fallbackTitle) throws IOException {
+		new ChapterFileParser(1, chapters::add)
+				.parseText(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), fallbackTitle);
+	}
+
+	@Test
+	void splitsOnHeadingLines() throws IOException {
+		parseText("""
+				Chapter 1: The Start
+				First body.
+
+				Chương 2 - Tiếp
+				Second body.
+				""", null);
+
+		assertThat(chapters).extracting(ChapterFileParser.ParsedChapter::chapterNumber).containsExactly(1, 2);
+		assertThat(chapters).extracting(ChapterFileParser.ParsedChapter::title).containsExactly("The Start", "Tiếp");
+		assertThat(chapters.get(1).content()).isEqualTo("Second body.");
+	}
+
+	@Test
+	void keepsPrologueAtTopOfFirstChapter() throws IOException {
+		parseText("""
+				Prologue text.
+
+				Chapter 1
+				Body.
+				""", null);
+
+		assertThat(chapters).hasSize(1);
+		assertThat(chapters.get(0).content()).startsWith("Prologue text.").endsWith("Body.");
+	}
+
+	@Test
+	void proseStartingWithChapterIsNotAHeading() throws IOException {
+		parseText("""
+				Chapter 1
+				She turned the page.
+				Chapter 12 of the manual said nothing about what to do when the engine caught fire halfway through the crossing.
+
+				Chapter 3 was missing entirely, which is the kind of thing you only notice when a reader writes in to complain about it.
+				""", null);
+
+		assertThat(chapters).hasSize(1);
+		assertThat(chapters.get(0).content()).contains("Chapter 12 of the manual", "Chapter 3 was missing");
+	}
+
+	@Test
+	void textWithoutHeadingsUsesFallbackTitle() throws IOException {
+		parseText("Just one block of text.\n", "part-01");
+
+		assertThat(chapters).singleElement().satisfies(chapter -> {
+			assertThat(chapter.chapterNumber()).isEqualTo(1);
+			assertThat(chapter.title()).isEqualTo("part-01");
+		});
+	}
+
+	@Test
+	void truncatesLongTitles() throws IOException {
+		parseText("Only body.\n", "x".repeat(400));
+
+		assertThat(chapters.get(0).title()).hasSize(ChapterFileParser.MAX_TITLE_LENGTH);
+	}
+
+	@Test
+	void truncateTitleDoesNotSplitSurrogatePairs() {
+		String title = "a".repeat(ChapterFileParser.MAX_TITLE_LENGTH - 1) + "😀";
+
+		assertThat(ChapterFileParser.truncateTitle(title)).hasSize(ChapterFileParser.MAX_TITLE_LENGTH - 1);
+		assertThat(ChapterFileParser.truncateTitle("   ")).isNull();
+	}
+
+	@Test
+	void zipEntriesAreReadInNaturalOrder() throws IOException {
+		Path zip = zip("chapter10.txt", "Tenth.", "chapter2.txt", "Second.");
+
+		new ChapterFileParser(5, chapters::add).parse(zip, "book.zip");
+
+		assertThat(chapters).extracting(ChapterFileParser.ParsedChapter::title).containsExactly("chapter2", "chapter10");
+		assertThat(chapters).extracting(ChapterFileParser.ParsedChapter::chapterNumber).containsExactly(5, 6);
+	}
+
+	@Test
+	void rejectsOversizedArchiveEntry() throws IOException {
+		Path zip = zip("big.txt", "y".repeat(10_000));
+
+		assertThatThrownBy(() -> new ChapterFileParser(1, 1_000, chapters::add).parse(zip, "book.zip"))
+				.isInstanceOf(IOException.class)
+				.hasMessageContaining("big.txt");
+		assertThat(chapters).isEmpty();
+	}
+
+	private Path zip(String... namesAndContents) throws IOException {
+		Path file = tempDir.resolve("book.zip");
+		try (OutputStream out = Files.newOutputStream(file); ZipOutputStream zip = new ZipOutputStream(out)) {
+			for (int i = 0; i < namesAndContents.length; i += 2) {
+				zip.putNextEntry(new ZipEntry(namesAndContents[i]));
+				zip.write(namesAndContents[i + 1].getBytes(StandardCharsets.UTF_8));
+				zip.closeEntry();
+			}
+		}
+		return file;
+	}
+}
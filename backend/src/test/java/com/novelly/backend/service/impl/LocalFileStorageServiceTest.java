@@ -0,0 +1,82 @@
+package com.novelly.backend.service.impl;
+
+import com.novelly.backend.service.FileStorageService;
+import com.novelly.backend.service.exception.UploadTooLargeException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LocalFileStorageServiceTest {
+
+	@TempDir
+	Path root;
+
+	private final LocalFileStorageService storage = new LocalFileStorageService();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(storage, "storageLocation", root.toString());
+		ReflectionTestUtils.setField(storage, "maxConcurrentUploads", 8);
+		ReflectionTestUtils.setField(storage, "uploadWaitMillis", 10_000L);
+		ReflectionTestUtils.setField(storage, "maxFileBytes", 1_000L);
+		storage.init();
+	}
+
+	private static MockMultipartFile upload(String content) {
+		return new MockMultipartFile("file", "page.txt", "text/plain", content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void concurrentIdenticalUploadsShareOneFile() throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		try {
+			List<Callable<FileStorageService.StoredFile>> uploads = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				uploads.add(() -> storage.storeFile(upload("same bytes"), "pages"));
+			}
+			List<String> paths = new ArrayList<>();
+			for (Future<FileStorageService.StoredFile> result : pool.invokeAll(uploads)) {
+				paths.add(result.get().relativePath());
+			}
+
+			assertThat(paths).containsOnly(paths.get(0));
+			assertThat(filesIn(root.resolve("pages"))).containsExactly(root.resolve(paths.get(0)));
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	void rejectsUploadOverLimitAndLeavesNoTempFile() throws IOException {
+		assertThatThrownBy(() -> storage.storeFile(upload("x".repeat(2_000)), "pages"))
+				.isInstanceOf(UploadTooLargeException.class);
+
+		assertThat(filesIn(root.resolve("pages"))).isEmpty();
+	}
+
+	private static List<Path> filesIn(Path dir) throws IOException {
+		if (!Files.exists(dir)) {
+			return List.of();
+		}
+		try (Stream<Path> files = Files.list(dir)) {
+			return files.toList();
+		}
+	}
+}
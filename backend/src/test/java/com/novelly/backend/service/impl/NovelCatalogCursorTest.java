@@ -0,0 +1,64 @@
+package com.novelly.backend.service.impl;
+
+import com.novelly.backend.dto.NovelSummaryDto;
+import com.novelly.backend.service.NovelService.CatalogSort;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NovelCatalogCursorTest {
+
+	private static final LocalDateTime CREATED = LocalDateTime.of(2026, 3, 1, 12, 30, 15);
+	private static final LocalDateTime UPDATED = LocalDateTime.of(2026, 4, 2, 8, 0);
+
+	private static NovelSummaryDto novel(String title) {
+		return NovelSummaryDto.builder()
+				.novelId(42)
+				.title(title)
+				.createdAt(CREATED)
+				.updatedAt(UPDATED)
+				.build();
+	}
+
+	@Test
+	void roundTripsEachSort() {
+		NovelSummaryDto last = novel("Harry Potter");
+
+		assertThat(NovelServiceImpl.decodeCursor(CatalogSort.NEWEST, NovelServiceImpl.encodeCursor(CatalogSort.NEWEST, last)))
+				.containsExactly(CREATED.toString(), "42");
+		assertThat(NovelServiceImpl.decodeCursor(CatalogSort.UPDATED, NovelServiceImpl.encodeCursor(CatalogSort.UPDATED, last)))
+				.containsExactly(UPDATED.toString(), "42");
+		assertThat(LocalDateTime.parse(NovelServiceImpl.decodeCursor(CatalogSort.OLDEST,
+				NovelServiceImpl.encodeCursor(CatalogSort.OLDEST, last))[0])).isEqualTo(CREATED);
+	}
+
+	@Test
+	void keepsTitlesWithSeparators() {
+		String cursor = NovelServiceImpl.encodeCursor(CatalogSort.TITLE, novel("Fate|Zero: Đấu Phá"));
+
+		assertThat(cursor).matches("[A-Za-z0-9_-]+");
+		assertThat(NovelServiceImpl.decodeCursor(CatalogSort.TITLE, cursor)).containsExactly("Fate|Zero: Đấu Phá", "42");
+	}
+
+	@Test
+	void isTiedToItsSort() {
+		String cursor = NovelServiceImpl.encodeCursor(CatalogSort.NEWEST, novel("A"));
+
+		assertThatThrownBy(() -> NovelServiceImpl.decodeCursor(CatalogSort.TITLE, cursor))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> NovelServiceImpl.decodeCursor(CatalogSort.NEWEST, "not base64!"))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void updatedCursorFallsBackToCreatedAt() {
+		NovelSummaryDto last = NovelSummaryDto.builder().novelId(7).title("A").createdAt(CREATED).build();
+
+		String cursor = NovelServiceImpl.encodeCursor(CatalogSort.UPDATED, last);
+
+		assertThat(NovelServiceImpl.decodeCursor(CatalogSort.UPDATED, cursor)).containsExactly(CREATED.toString(), "7");
+	}
+}
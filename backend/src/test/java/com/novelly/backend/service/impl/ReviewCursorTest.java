@@ -0,0 +1,33 @@
+package com.novelly.backend.service.impl;
+
+import com.novelly.backend.dto.ReviewDto;
+import com.novelly.backend.service.ReviewService.ReviewSort;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReviewCursorTest {
+
+	private static final LocalDateTime CREATED = LocalDateTime.of(2026, 3, 1, 12, 30, 15);
+
+	@Test
+	void roundTripsAndIsTiedToItsSort() {
+		ReviewDto last = ReviewDto.builder().reviewId(9).rating(4).createdAt(CREATED).build();
+
+		String cursor = ReviewServiceImpl.encodeCursor(ReviewSort.RATING, last);
+
+		assertThat(ReviewServiceImpl.decodeCursor(ReviewSort.RATING, cursor))
+				.containsExactly(CREATED.toString(), "4", "9");
+		assertThatThrownBy(() -> ReviewServiceImpl.decodeCursor(ReviewSort.RECENT, cursor))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void rejectsMalformedCursor() {
+		assertThatThrownBy(() -> ReviewServiceImpl.decodeCursor(ReviewSort.RECENT, "not base64!"))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+}
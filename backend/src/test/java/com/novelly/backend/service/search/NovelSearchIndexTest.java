@@ -0,0 +1,80 @@
+package com.novelly.backend.service.search;
+
+import com.novelly.backend.entity.Novel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NovelSearchIndexTest {
+
+	private final NovelSearchIndex index = new NovelSearchIndex(null, 1000, 100);
+
+	private static Novel novel(int id, String title, String author) {
+		Novel novel = new Novel();
+		novel.setNovelId(id);
+		novel.setTitle(title);
+		novel.setAuthor(author);
+		return novel;
+	}
+
+	@BeforeEach
+	void setUp() {
+		index.index(novel(1, "Harry Potter", "J. K. Rowling"));
+		index.index(novel(2, "Hare and Tortoise", "Aesop"));
+		index.index(novel(3, "Đấu Phá Thương Khung", "Thiên Tàm Thổ Đậu"));
+	}
+
+	@Test
+	void lastWordMatchesAsPrefix() {
+		assertThat(index.search("Harr")).containsExactly(1);
+		assertThat(index.search("har")).containsExactlyInAnyOrder(1, 2);
+	}
+
+	@Test
+	void exactWordRanksAbovePrefixMatch() {
+		index.index(novel(4, "Harrying", "Nobody"));
+
+		assertThat(index.search("harry")).startsWith(1);
+	}
+
+	@Test
+	void onlyTheLastWordMatchesAsPrefix() {
+		assertThat(index.search("har aesop")).containsExactly(2);
+		assertThat(index.search("potter harr")).containsExactly(1);
+	}
+
+	@Test
+	void singleLetterDoesNotExpand() {
+		assertThat(index.search("h")).isEmpty();
+	}
+
+	@Test
+	void diacriticsAreFolded() {
+		assertThat(index.search("dau pha")).containsExactly(3);
+	}
+
+	@Test
+	void removedNovelIsNotFound() {
+		index.remove(1);
+
+		assertThat(index.search("harry")).isEmpty();
+	}
+
+	@Test
+	void updateIsVisibleToACachedQuery() {
+		assertThat(index.search("potter")).containsExactly(1);
+
+		index.index(novel(4, "Potter's Field", "Nobody"));
+
+		assertThat(index.search("potter")).containsExactlyInAnyOrder(1, 4);
+	}
+
+	@Test
+	void summariesAreCopies() {
+		index.getSummaries(new int[]{1}, 0, 1).get(0).setTitle("Changed");
+
+		assertThat(index.getSummaries(new int[]{1}, 0, 1)).singleElement()
+				.satisfies(summary -> assertThat(summary.getTitle()).isEqualTo("Harry Potter"));
+	}
+}
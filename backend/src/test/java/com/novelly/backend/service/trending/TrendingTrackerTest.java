@@ -0,0 +1,76 @@
+package com.novelly.backend.service.trending;
+
+import com.novelly.backend.dto.NovelSummaryDto;
+import com.novelly.backend.entity.Novel;
+import com.novelly.backend.service.search.NovelSearchIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrendingTrackerTest {
+
+	@Test
+	void topKMatchesAFullSort() {
+		Random random = new Random(7);
+		double[] values = new double[5_000];
+		for (int i = 0; i < values.length; i++) {
+			// Some ids have no activity at all
+			values[i] = random.nextInt(4) == 0 ? 0 : random.nextDouble();
+		}
+
+		int[] expected = IntStream.range(0, values.length)
+				.filter(id -> values[id] > 0)
+				.boxed()
+				.sorted(Comparator.comparingDouble((Integer id) -> values[id]).reversed())
+				.limit(TrendingTracker.TOP_K)
+				.mapToInt(Integer::intValue)
+				.toArray();
+
+		assertThat(TrendingTracker.topK(values)).containsExactly(expected);
+	}
+
+	@Test
+	void topKSkipsZeroScoresAndHandlesFewerThanK() {
+		double[] values = {0, 3, 0, 1, 2};
+
+		assertThat(TrendingTracker.topK(values)).containsExactly(1, 4, 3);
+		assertThat(TrendingTracker.topK(new double[10])).isEmpty();
+	}
+
+	@Test
+	void recordedSignalsRankAfterSnapshot() {
+		NovelSearchIndex index = new NovelSearchIndex(null, 1000, 100);
+		for (int id = 1; id <= 3; id++) {
+			Novel novel = new Novel();
+			novel.setNovelId(id);
+			novel.setTitle("Novel " + id);
+			index.index(novel);
+		}
+		TrendingTracker tracker = new TrendingTracker(null, null, null, index);
+
+		tracker.record(1, TrendingTracker.Signal.PROGRESS);
+		tracker.record(2, TrendingTracker.Signal.LIBRARY);
+		tracker.record(3, TrendingTracker.Signal.REVIEW);
+		assertThat(tracker.getTrending(TrendingTracker.Window.DAILY, 10)).isEmpty();
+
+		tracker.snapshot();
+
+		assertThat(tracker.getTrending(TrendingTracker.Window.DAILY, 10))
+				.extracting(NovelSummaryDto::getNovelId)
+				.containsExactly(2, 3, 1);
+		assertThat(tracker.getTrending(TrendingTracker.Window.ALL_TIME, 2))
+				.extracting(NovelSummaryDto::getNovelId)
+				.containsExactly(2, 3);
+
+		tracker.remove(2);
+		tracker.snapshot();
+
+		assertThat(tracker.getTrending(TrendingTracker.Window.WEEKLY, 10))
+				.extracting(NovelSummaryDto::getNovelId)
+				.containsExactly(3, 1);
+	}
+}
@@ -0,0 +1,51 @@
+package com.novelly.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChapterContentCodecTest {
+
+	private static final String TEXT = "Chương 1\n\nĐấu Phá Thương Khung — ".repeat(200);
+
+	@Test
+	void roundTripsThroughByteArray() {
+		byte[] compressed = ChapterContentCodec.compress(TEXT);
+
+		assertThat(compressed.length).isLessThan(TEXT.length());
+		assertThat(ChapterContentCodec.decompress(compressed, ChapterContentCodec.GZIP)).isEqualTo(TEXT);
+	}
+
+	@Test
+	void roundTripsThroughByteBufferWithoutConsumingIt() {
+		ByteBuffer buffer = ByteBuffer.allocateDirect(ChapterContentCodec.compress(TEXT).length);
+		buffer.put(ChapterContentCodec.compress(TEXT)).flip();
+
+		assertThat(ChapterContentCodec.decompress(buffer, ChapterContentCodec.GZIP)).isEqualTo(TEXT);
+		assertThat(ChapterContentCodec.decompress(buffer, ChapterContentCodec.GZIP)).isEqualTo(TEXT);
+	}
+
+	@Test
+	void nullStaysNull() {
+		assertThat(ChapterContentCodec.decompress((byte[]) null, ChapterContentCodec.GZIP)).isNull();
+		assertThat(ChapterContentCodec.decompress((ByteBuffer) null, ChapterContentCodec.GZIP)).isNull();
+	}
+
+	@Test
+	void rejectsUnknownCodec() {
+		assertThatThrownBy(() -> ChapterContentCodec.decompress(new byte[] {1}, "br"))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void parsesAcceptEncoding() {
+		assertThat(ChapterContentCodec.acceptsGzip("gzip, deflate, br")).isTrue();
+		assertThat(ChapterContentCodec.acceptsGzip("br;q=1.0, GZIP;q=0.5")).isTrue();
+		assertThat(ChapterContentCodec.acceptsGzip("gzip;q=0")).isFalse();
+		assertThat(ChapterContentCodec.acceptsGzip("deflate")).isFalse();
+		assertThat(ChapterContentCodec.acceptsGzip(null)).isFalse();
+	}
+}